@@ -0,0 +1,171 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.handler.exception.ServerConnectionLimitException;
+import ru.practicum.shareit.handler.exception.ServerUnavailableException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calls the server with the JDK {@link HttpClient} without blocking: requests are multiplexed by its selector thread
+ * and responses are completed on a small fixed pool, so with asynchronous controllers a slow server holds no Tomcat
+ * worker while the call is in flight. The response body is passed through as bytes.
+ * <p>
+ * The JDK client has no connection pool limit: it opens a connection for every concurrent HTTP/1.1 request. Requests
+ * in flight are therefore capped at {@code maxConnections} permits. A request that finds none free waits in a queue
+ * without holding its thread and is sent once a finished request hands its permit over; if none does within
+ * {@code poolTimeout} it fails with a {@link ServerConnectionLimitException}, like one that gets no pooled
+ * connection in blocking mode.
+ */
+public class AsyncServerTransport implements ServerTransport, DisposableBean {
+    private final ObjectMapper objectMapper;
+    private final Duration readTimeout;
+    private final Duration poolTimeout;
+    private final Semaphore permits;
+    private final Queue<CompletableFuture<Void>> waiters = new ConcurrentLinkedQueue<>();
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+
+    public AsyncServerTransport(ObjectMapper objectMapper, Duration connectTimeout, Duration readTimeout,
+                                int maxConnections, Duration poolTimeout, int threads) {
+        this.objectMapper = objectMapper;
+        this.readTimeout = readTimeout;
+        this.poolTimeout = poolTimeout;
+        this.permits = new Semaphore(maxConnections);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "shareit-server-async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                              @Nullable Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .method(method.name(), bodyPublisher(body));
+        headers.forEach((name, values) -> values.forEach(value -> request.header(name, value)));
+        HttpRequest built = request.build();
+        return acquire()
+                .handle((permit, e) -> {
+                    if (e != null) {
+                        throw new ServerConnectionLimitException(String.format(
+                                "%s %s failed: no connection free within %s", method, uri.getPath(), poolTimeout));
+                    }
+                    return permit;
+                })
+                .thenCompose(permit -> send(method, uri, built));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> send(HttpMethod method, URI uri, HttpRequest request) {
+        CompletableFuture<HttpResponse<byte[]>> response;
+        try {
+            response = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            release();
+            throw e;
+        }
+        return response.handle((sent, e) -> {
+            release();
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                throw new ServerUnavailableException(
+                        String.format("%s %s failed: %s", method, uri.getPath(), cause), cause);
+            }
+            return toResponseEntity(sent);
+        });
+    }
+
+    /**
+     * A future completed once a permit is held: at once when one is free, otherwise when a finished request hands its
+     * permit over, or exceptionally after {@code poolTimeout}.
+     */
+    private CompletableFuture<Void> acquire() {
+        if (permits.tryAcquire()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        waiter.orTimeout(poolTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((permit, e) -> {
+                    if (e != null) {
+                        waiters.remove(waiter);
+                    }
+                });
+        if (permits.tryAcquire()) {
+            release();
+        }
+        return waiter;
+    }
+
+    /**
+     * Hands the permit to the oldest waiter still waiting, or returns it. A waiter that queued while the permit was
+     * being returned takes it back right away.
+     */
+    private void release() {
+        CompletableFuture<Void> waiter;
+        while ((waiter = waiters.poll()) != null) {
+            if (waiter.complete(null)) {
+                return;
+            }
+        }
+        permits.release();
+        if (!waiters.isEmpty() && permits.tryAcquire()) {
+            release();
+        }
+    }
+
+    private HttpRequest.BodyPublisher bodyPublisher(@Nullable Object body) {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request body can't be written as JSON", e);
+        }
+    }
+
+    private static ResponseEntity<Object> toResponseEntity(HttpResponse<byte[]> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                headers.addAll(name, values);
+            }
+        });
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.statusCode()).headers(headers);
+        byte[] body = response.body();
+        return body == null || body.length == 0 ? builder.build() : builder.body(body);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.handler.exception.ServerConnectionLimitException;
+import ru.practicum.shareit.handler.exception.ServerUnavailableException;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Calls the server with {@link RestTemplate} on the caller's thread and returns an already completed future, so a
+ * Tomcat worker is held for the whole round trip. The response body is passed through as bytes.
+ */
+public class BlockingServerTransport implements ServerTransport {
+    private final RestTemplate rest;
+
+    public BlockingServerTransport(RestTemplate rest) {
+        this.rest = rest;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                              @Nullable Object body) {
+        ResponseEntity<Object> response;
+        try {
+            ResponseEntity<byte[]> raw = rest.exchange(new RequestEntity<>(body, headers, method, uri), byte[].class);
+            response = new ResponseEntity<>(raw.getBody(), raw.getHeaders(), raw.getStatusCode());
+        } catch (HttpStatusCodeException e) {
+            response = new ResponseEntity<>(e.getResponseBodyAsByteArray(), e.getResponseHeaders(), e.getStatusCode());
+        } catch (ResourceAccessException e) {
+            String message = String.format("%s %s failed: %s", method, uri.getPath(), e.getMostSpecificCause());
+            return CompletableFuture.failedFuture(e.getCause() instanceof ConnectionPoolTimeoutException
+                    ? new ServerConnectionLimitException(message, e)
+                    : new ServerUnavailableException(message, e));
+        }
+        return CompletableFuture.completedFuture(response);
+    }
+}
@@ -0,0 +1,151 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of idempotent GET responses of the server, keyed by URI and {@code X-Sharer-User-Id}. A fresh
+ * entry is answered without calling the server; a stale one is revalidated with {@code If-None-Match} and served
+ * again on 304. Every write sent through the gateway clears the cache, since item, booking and request responses
+ * embed each other; writes made past the gateway are seen once the TTL runs out. Enabled with
+ * {@code shareit-server.cache.enabled=true}; outcomes are counted by {@code shareit.gateway.cache.requests}. The
+ * server sends ETags only with {@code shareit.etag.enabled=true}; without them a stale entry is fetched again.
+ */
+@Component
+public class ResponseCache {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Cache<String, Entry> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter revalidations;
+    private final Counter misses;
+
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${shareit-server.cache.enabled:false}") boolean enabled,
+                         @Value("${shareit-server.cache.ttl:5s}") Duration ttl,
+                         @Value("${shareit-server.cache.max-stale:5m}") Duration maxStale,
+                         @Value("${shareit-server.cache.max-size:64MB}") DataSize maxSize) {
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, Entry entry) -> key.length() + entry.body.length)
+                .expireAfterWrite(ttl.plus(maxStale))
+                .build();
+        this.hits = requests(meterRegistry, "hit");
+        this.revalidations = requests(meterRegistry, "revalidated");
+        this.misses = requests(meterRegistry, "miss");
+        Gauge.builder("shareit.gateway.cache.size", entries, Cache::estimatedSize)
+                .description("Server responses held by the gateway cache")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> get(URI uri, HttpHeaders headers, ServerTransport transport) {
+        if (!enabled) {
+            return transport.exchange(HttpMethod.GET, uri, headers, null);
+        }
+        String key = headers.getFirst(USER_HEADER) + " " + uri;
+        Entry cached = entries.getIfPresent(key);
+        if (cached != null && System.nanoTime() - cached.storedAt < ttlNanos) {
+            hits.increment();
+            return CompletableFuture.completedFuture(cached.toResponse());
+        }
+        if (cached != null && cached.etag != null) {
+            headers.setIfNoneMatch(cached.etag);
+        }
+        long seen = generation.get();
+        return transport.exchange(HttpMethod.GET, uri, headers, null).thenApply(response -> {
+            if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                revalidations.increment();
+                store(key, cached.refreshed(), seen);
+                return cached.toResponse();
+            }
+            misses.increment();
+            if (response.getStatusCode() == HttpStatus.OK && response.getBody() instanceof byte[]) {
+                store(key, new Entry(response, (byte[]) response.getBody()), seen);
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Sends a write and clears the cache both before it is sent and once it completes, so no response read while
+     * the write is in flight survives it.
+     */
+    public CompletableFuture<ResponseEntity<Object>> write(HttpMethod method, URI uri, HttpHeaders headers,
+                                                           @Nullable Object body, ServerTransport transport) {
+        if (!enabled) {
+            return transport.exchange(method, uri, headers, body);
+        }
+        invalidateAll();
+        return transport.exchange(method, uri, headers, body)
+                .whenComplete((response, e) -> invalidateAll());
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.invalidateAll();
+    }
+
+    private void store(String key, Entry entry, long seen) {
+        entries.put(key, entry);
+        if (generation.get() != seen) {
+            entries.invalidate(key);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("shareit.gateway.cache.requests")
+                .description("Cacheable GETs by outcome: answered from the cache, revalidated by ETag or fetched")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static class Entry {
+        private final HttpStatus status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private final String etag;
+        private final long storedAt;
+
+        Entry(ResponseEntity<Object> response, byte[] body) {
+            this(response.getStatusCode(), HttpHeaders.readOnlyHttpHeaders(response.getHeaders()), body,
+                    response.getHeaders().getETag(), System.nanoTime());
+        }
+
+        private Entry(HttpStatus status, HttpHeaders headers, byte[] body, String etag, long storedAt) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.etag = etag;
+            this.storedAt = storedAt;
+        }
+
+        Entry refreshed() {
+            return new Entry(status, headers, body, etag, System.nanoTime());
+        }
+
+        ResponseEntity<Object> toResponse() {
+            return new ResponseEntity<>(body, headers, status);
+        }
+    }
+}
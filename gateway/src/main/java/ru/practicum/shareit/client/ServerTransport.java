@@ -0,0 +1,21 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends one request to the server. The response carries the server's status, headers and undecoded body bytes; error
+ * statuses complete the future normally, only I/O failures complete it exceptionally, with a
+ * {@link ru.practicum.shareit.handler.exception.ServerUnavailableException}. Chosen with
+ * {@code shareit-server.client.mode}.
+ */
+public interface ServerTransport {
+
+    CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                       @Nullable Object body);
+}
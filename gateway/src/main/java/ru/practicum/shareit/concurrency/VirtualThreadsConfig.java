@@ -0,0 +1,44 @@
+package ru.practicum.shareit.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Serves requests on virtual threads, enabled with {@code shareit.threads.virtual.enabled=true} on Java 21 or later;
+ * on older runtimes the Tomcat worker pool is kept. Requests, and the blocking {@code BaseClient} calls made on them,
+ * then no longer queue for a worker: {@code shareit-server.http.max-connections} bounds calls to the server and
+ * {@code shareit.threads.virtual.max-in-flight} bounds the requests processed at once.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> VirtualThreads.newPerTaskExecutor("tomcat-handler-").ifPresentOrElse(
+                protocolHandler::setExecutor,
+                () -> log.warn("Virtual threads need Java 21 or later, running on {}: keeping the Tomcat worker pool",
+                        Runtime.version()));
+    }
+
+    @Bean
+    public FilterRegistrationBean<InFlightLimitFilter> inFlightLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${shareit.threads.virtual.max-in-flight:5000}") int maxInFlight,
+            @Value("${shareit.threads.virtual.acquire-timeout:1s}") Duration acquireTimeout) {
+        FilterRegistrationBean<InFlightLimitFilter> registration =
+                new FilterRegistrationBean<>(new InFlightLimitFilter(maxInFlight, acquireTimeout, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.handler.exception.BadRequestException;
 import ru.practicum.shareit.handler.exception.IllegalArgumentExceptionCustom;
+import ru.practicum.shareit.handler.exception.ServerConnectionLimitException;
+import ru.practicum.shareit.handler.exception.ServerUnavailableException;
 
 import javax.validation.ConstraintViolationException;
 
@@ -34,6 +36,20 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage());
     }
 
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(ServerConnectionLimitException.class)
+    public ErrorResponse handleServerConnectionLimitException(final ServerConnectionLimitException e) {
+        log.warn("Error 503 {}", e.getMessage());
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_GATEWAY)
+    @ExceptionHandler(ServerUnavailableException.class)
+    public ErrorResponse handleServerUnavailableException(final ServerUnavailableException e) {
+        log.warn("Error 502 {}", e.getMessage());
+        return new ErrorResponse(e.getMessage());
+    }
+
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ExceptionHandler({ConstraintViolationException.class})
     public ErrorResponse handleConstraintViolationException(final ConstraintViolationException e) {
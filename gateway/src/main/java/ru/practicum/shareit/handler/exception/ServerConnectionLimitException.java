@@ -0,0 +1,14 @@
+package ru.practicum.shareit.handler.exception;
+
+/**
+ * No connection to the server came free within the pool timeout; the server itself was not called.
+ */
+public class ServerConnectionLimitException extends ServerUnavailableException {
+    public ServerConnectionLimitException(String message) {
+        super(message);
+    }
+
+    public ServerConnectionLimitException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
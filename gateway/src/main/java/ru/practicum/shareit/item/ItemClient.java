@@ -1,62 +1,64 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, ServerTransport serverTransport,
+                      ResponseCache responseCache) {
+        super(serverUrl + API_PREFIX, serverTransport, responseCache);
     }
 
-    public ResponseEntity<Object> createItem(ItemDto itemDto, Long ownerId) {
+    public CompletableFuture<ResponseEntity<Object>> createItem(ItemDto itemDto, Long ownerId) {
         return post("", ownerId, itemDto);
     }
 
-    public ResponseEntity<Object> getAllItems(Long ownerId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "from", from,
-                "size", size
-        );
-        return get("?from={from}&size={size}", ownerId, parameters);
+    public CompletableFuture<ResponseEntity<Object>> getAllItems(Long ownerId, Integer from, Integer size,
+                                                                 String after) {
+        Map<String, Object> parameters = pageParameters(from, size, after);
+        return get(pagePath("", parameters), ownerId, parameters);
     }
 
-    public ResponseEntity<Object> getItem(Long itemId, Long userId) {
-        return get("/" + itemId, userId);
+    public CompletableFuture<ResponseEntity<Object>> getItem(Long itemId, Long userId) {
+        return getCached("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> updateItem(long itemId, long userId, ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> updateItem(long itemId, long userId, ItemDto itemDto) {
         return patch("/" + userId, itemId, itemDto);
     }
 
 
 
-    public ResponseEntity<Object> searchItems(Long userId, String text, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> searchItems(Long userId, String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return getCached("/search?text={text}&from={from}&size={size}", userId, parameters);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> suggestItemNames(Long userId, String prefix, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "size", size
+        );
+        return get("/suggest?prefix={prefix}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> createComment(Long itemId, Long userId, CommentDto commentDto) {
+    public CompletableFuture<ResponseEntity<Object>> createComment(Long itemId, Long userId, CommentDto commentDto) {
         return post("/" + userId + "/comment", itemId, commentDto);
     }
 }
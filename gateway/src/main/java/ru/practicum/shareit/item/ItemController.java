@@ -8,9 +8,13 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
+import java.util.concurrent.CompletableFuture;
+
 @AllArgsConstructor
 @RestController
 @RequestMapping("/items")
@@ -20,28 +24,30 @@ public class ItemController {
 
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@Valid @RequestBody ItemDto itemDto,
+    public CompletableFuture<ResponseEntity<Object>> createItem(@Valid @RequestBody ItemDto itemDto,
                                              @RequestHeader("X-Sharer-User-Id") Long ownerId) {
         return itemClient.createItem(itemDto, ownerId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItems(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+    public CompletableFuture<ResponseEntity<Object>> getAllItems(@RequestHeader("X-Sharer-User-Id") Long ownerId,
                                                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
                                                         Integer from,
                                                         @Positive @RequestParam(name = "size", defaultValue = "10")
-                                                        Integer size) {
-        return itemClient.getAllItems(ownerId, from, size);
+                                                        Integer size,
+                                                        @RequestParam(name = "after", required = false)
+                                                        String after) {
+        return itemClient.getAllItems(ownerId, from, size, after);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@PathVariable Long itemId,
+    public CompletableFuture<ResponseEntity<Object>> getItem(@PathVariable Long itemId,
                                              @RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemClient.getItem(itemId, userId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public CompletableFuture<ResponseEntity<Object>> searchItems(@RequestHeader("X-Sharer-User-Id") Long userId,
                                               @RequestParam String text,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
                                               Integer from,
@@ -50,8 +56,16 @@ public class ItemController {
         return itemClient.searchItems(userId, text, from, size);
     }
 
+    @GetMapping("/suggest")
+    public CompletableFuture<ResponseEntity<Object>> suggestItemNames(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @NotBlank @RequestParam String prefix,
+                                                   @Positive @Max(50) @RequestParam(name = "size", defaultValue = "10")
+                                                   Integer size) {
+        return itemClient.suggestItemNames(userId, prefix, size);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@PathVariable Long itemId,
+    public CompletableFuture<ResponseEntity<Object>> updateItem(@PathVariable Long itemId,
                                              @RequestBody ItemDto itemDto,
                                              @RequestHeader(name = "X-Sharer-User-Id", required = false) Long ownerId) {
         return itemClient.updateItem(ownerId, itemId, itemDto);
@@ -59,7 +73,7 @@ public class ItemController {
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@PathVariable Long itemId,
+    public CompletableFuture<ResponseEntity<Object>> createComment(@PathVariable Long itemId,
                                                 @RequestHeader("X-Sharer-User-Id") Long userId,
                                                 @Valid @RequestBody CommentDto commentDto) {
         return itemClient.createComment(userId, itemId, commentDto);
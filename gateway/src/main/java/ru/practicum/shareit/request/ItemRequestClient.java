@@ -2,47 +2,41 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, ServerTransport serverTransport,
+                             ResponseCache responseCache) {
+        super(serverUrl + API_PREFIX, serverTransport, responseCache);
     }
 
-    public ResponseEntity<Object> createRequest(ItemRequestDto itemRequestDto, Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> createRequest(ItemRequestDto itemRequestDto, Long userId) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getAllRequests(Long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "from", from,
-                "size", size
-        );
-        return get("/all?from={from}&size={size}", userId, parameters);
+    public CompletableFuture<ResponseEntity<Object>> getAllRequests(Long userId, Integer from, Integer size,
+                                                                    String after) {
+        Map<String, Object> parameters = pageParameters(from, size, after);
+        return getCached(pagePath("/all", parameters), userId, parameters);
     }
 
-    public ResponseEntity<Object> getRequestById(Long requestId, Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getRequestById(Long requestId, Long userId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> getRequestsByUserId(Long userId) {
-        return get("", userId);
+    public CompletableFuture<ResponseEntity<Object>> getRequestsByUserId(Long userId) {
+        return getCached("", userId);
     }
 }
@@ -0,0 +1,123 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the gateway in both {@code shareit-server.client.mode}s, with 8 Tomcat threads, against a {@link StubServer}.
+ */
+class GatewayTransportTest {
+    private static final int TOMCAT_THREADS = 8;
+    private static final int LOAD_REQUESTS = 40;
+
+    private static final Map<String, ConfigurableApplicationContext> gateways = new HashMap<>();
+    private static final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private static StubServer stub;
+
+    @BeforeAll
+    static void startStub() throws Exception {
+        stub = new StubServer();
+    }
+
+    @AfterAll
+    static void stop() {
+        gateways.values().forEach(ConfigurableApplicationContext::close);
+        gateways.clear();
+        stub.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"blocking", "async"})
+    void getUser_whenServerAnswers_thenPassResponseThrough(String mode) throws Exception {
+        HttpResponse<String> ok = get(mode, "/users/1");
+        HttpResponse<String> notFound = get(mode, "/users/2");
+
+        assertEquals(200, ok.statusCode());
+        assertEquals(StubServer.USER_BODY, ok.body());
+        assertEquals(404, notFound.statusCode());
+        assertEquals(StubServer.NOT_FOUND_BODY, notFound.body());
+        assertEquals("yes", notFound.headers().firstValue("X-Stub").orElse(null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"blocking", "async"})
+    void getUser_whenServerDropsConnection_thenBadGateway(String mode) throws Exception {
+        HttpResponse<String> response = get(mode, "/users/3");
+
+        assertEquals(502, response.statusCode());
+        assertTrue(response.body().contains("GET /users/3 failed"), response.body());
+    }
+
+    /**
+     * A blocking gateway holds a Tomcat thread per call, so the slow server never sees more requests at once than
+     * there are threads; an async gateway releases the thread and passes the whole burst on.
+     */
+    @Test
+    void getUser_whenServerSlow_thenAsyncKeepsMoreRequestsInFlight(TestReporter reporter) throws Exception {
+        stub.setDelay(Duration.ofMillis(300));
+        try {
+            Map<String, Integer> peaks = new HashMap<>();
+            for (String mode : List.of("blocking", "async")) {
+                gateway(mode);
+                stub.resetPeak();
+                long started = System.nanoTime();
+                List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+                for (int i = 0; i < LOAD_REQUESTS; i++) {
+                    responses.add(client.sendAsync(request(mode, "/users/1"), HttpResponse.BodyHandlers.ofString()));
+                }
+                for (CompletableFuture<HttpResponse<String>> response : responses) {
+                    assertEquals(200, response.get().statusCode());
+                }
+                peaks.put(mode, stub.resetPeak());
+                reporter.publishEntry(mode + ".millis",
+                        String.valueOf(Duration.ofNanos(System.nanoTime() - started).toMillis()));
+                reporter.publishEntry(mode + ".peakInFlight", String.valueOf(peaks.get(mode)));
+            }
+
+            assertTrue(peaks.get("blocking") <= TOMCAT_THREADS, peaks.toString());
+            assertTrue(peaks.get("async") > TOMCAT_THREADS, peaks.toString());
+        } finally {
+            stub.setDelay(Duration.ZERO);
+        }
+    }
+
+    private static HttpResponse<String> get(String mode, String path) throws Exception {
+        return client.send(request(mode, path), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest request(String mode, String path) {
+        int port = ((ServletWebServerApplicationContext) gateway(mode)).getWebServer().getPort();
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private static ConfigurableApplicationContext gateway(String mode) {
+        return gateways.computeIfAbsent(mode, key -> new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "--server.tomcat.threads.min-spare=" + TOMCAT_THREADS,
+                "--shareit-server.url=" + stub.url(),
+                "--shareit-server.client.mode=" + key));
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stands in for the ShareIt server on a random local port:
+ * <ul>
+ *     <li>{@code /users/1} answers 200 after the configured delay, or once the gate opens;</li>
+ *     <li>{@code /users/2} answers 404 with an error body;</li>
+ *     <li>{@code /users/3} drops the connection without answering.</li>
+ * </ul>
+ * Every answer carries an {@code X-Stub} header. The stub tracks the peak number of requests it holds at once.
+ */
+public class StubServer implements AutoCloseable {
+    public static final String USER_BODY = "{\"id\":1,\"name\":\"Stub\"}";
+    public static final String NOT_FOUND_BODY = "{\"error\":\"Not found user 2\"}";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+    private volatile Duration delay = Duration.ZERO;
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+
+    public StubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 1000);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public void setDelay(Duration delay) {
+        this.delay = delay;
+    }
+
+    public void closeGate() {
+        gate = new CountDownLatch(1);
+    }
+
+    public void openGate() {
+        gate.countDown();
+    }
+
+    public int resetPeak() {
+        return peak.getAndSet(0);
+    }
+
+    @Override
+    public void close() {
+        openGate();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        switch (exchange.getRequestURI().getPath()) {
+            case "/users/1":
+                peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    hold();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                respond(exchange, 200, USER_BODY);
+                break;
+            case "/users/2":
+                respond(exchange, 404, NOT_FOUND_BODY);
+                break;
+            case "/users/3":
+                throw new IOException("Dropped by the stub");
+            default:
+                respond(exchange, 500, "{\"error\":\"Unexpected path\"}");
+        }
+    }
+
+    private void hold() {
+        try {
+            Thread.sleep(delay.toMillis());
+            gate.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("X-Stub", "yes");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,191 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+    private static final URI URI_ITEMS = URI.create("http://localhost:9090/items");
+
+    private SimpleMeterRegistry meterRegistry;
+    private StubTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        transport = new StubTransport();
+    }
+
+    @Test
+    void get_whenDisabled_thenAlwaysCallServer() {
+        ResponseCache cache = cache(false, Duration.ofHours(1));
+        transport.answer(ok("a", null));
+        transport.answer(ok("b", null));
+
+        assertEquals("a", body(cache.get(URI_ITEMS, headers(1L), transport).join()));
+        assertEquals("b", body(cache.get(URI_ITEMS, headers(1L), transport).join()));
+        assertEquals(2, transport.sent.size());
+    }
+
+    @Test
+    void get_whenFresh_thenAnswerFromCachePerUser() {
+        ResponseCache cache = cache(true, Duration.ofHours(1));
+        transport.answer(ok("a", null));
+        transport.answer(ok("b", null));
+
+        assertEquals("a", body(cache.get(URI_ITEMS, headers(1L), transport).join()));
+        assertEquals("a", body(cache.get(URI_ITEMS, headers(1L), transport).join()));
+        assertEquals("b", body(cache.get(URI_ITEMS, headers(2L), transport).join()));
+
+        assertEquals(2, transport.sent.size());
+        assertEquals(1, requests("hit"));
+        assertEquals(2, requests("miss"));
+    }
+
+    @Test
+    void get_whenStaleAndNotModified_thenRevalidateAndServeCachedBody() {
+        ResponseCache cache = cache(true, Duration.ZERO);
+        transport.answer(ok("a", "\"v1\""));
+        transport.answer(CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build()));
+
+        cache.get(URI_ITEMS, headers(1L), transport).join();
+        ResponseEntity<Object> revalidated = cache.get(URI_ITEMS, headers(1L), transport).join();
+
+        assertEquals(HttpStatus.OK, revalidated.getStatusCode());
+        assertEquals("a", body(revalidated));
+        assertEquals(List.of("\"v1\""), transport.sent.get(1).getIfNoneMatch());
+        assertEquals(1, requests("revalidated"));
+    }
+
+    @Test
+    void get_whenStaleAndChanged_thenReplaceEntry() {
+        ResponseCache cache = cache(true, Duration.ZERO);
+        transport.answer(ok("a", "\"v1\""));
+        transport.answer(ok("b", "\"v2\""));
+        transport.answer(CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build()));
+
+        cache.get(URI_ITEMS, headers(1L), transport).join();
+        assertEquals("b", body(cache.get(URI_ITEMS, headers(1L), transport).join()));
+        assertEquals("b", body(cache.get(URI_ITEMS, headers(1L), transport).join()));
+
+        assertEquals(List.of("\"v2\""), transport.sent.get(2).getIfNoneMatch());
+    }
+
+    @Test
+    void get_whenServerAnswersError_thenNotCached() {
+        ResponseCache cache = cache(true, Duration.ofHours(1));
+        transport.answer(CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND).build()));
+        transport.answer(ok("a", null));
+
+        assertEquals(HttpStatus.NOT_FOUND, cache.get(URI_ITEMS, headers(1L), transport).join().getStatusCode());
+        assertEquals("a", body(cache.get(URI_ITEMS, headers(1L), transport).join()));
+    }
+
+    @Test
+    void write_whenCompleted_thenInvalidateCachedResponses() {
+        ResponseCache cache = cache(true, Duration.ofHours(1));
+        transport.answer(ok("a", null));
+        transport.answer(ok("written", null));
+        transport.answer(ok("b", null));
+
+        cache.get(URI_ITEMS, headers(1L), transport).join();
+        cache.write(HttpMethod.POST, URI_ITEMS, headers(1L), "{}", transport).join();
+
+        assertEquals("b", body(cache.get(URI_ITEMS, headers(1L), transport).join()));
+    }
+
+    @Test
+    void get_whenWriteLandsWhileReadInFlight_thenDoNotStoreRead() {
+        ResponseCache cache = cache(true, Duration.ofHours(1));
+        CompletableFuture<ResponseEntity<Object>> read = new CompletableFuture<>();
+        transport.answer(read);
+        transport.answer(ok("written", null));
+        transport.answer(ok("b", null));
+
+        CompletableFuture<ResponseEntity<Object>> staleRead = cache.get(URI_ITEMS, headers(1L), transport);
+        cache.write(HttpMethod.PATCH, URI_ITEMS, headers(1L), "{}", transport).join();
+        read.complete(ok("a", null).join());
+
+        assertEquals("a", body(staleRead.join()));
+        assertEquals("b", body(cache.get(URI_ITEMS, headers(1L), transport).join()));
+    }
+
+    @Test
+    void get_whenReadCompletesWhileWriteInFlight_thenDropReadOnceWriteCompletes() {
+        ResponseCache cache = cache(true, Duration.ofHours(1));
+        CompletableFuture<ResponseEntity<Object>> write = new CompletableFuture<>();
+        transport.answer(write);
+        transport.answer(ok("a", null));
+        transport.answer(ok("b", null));
+
+        CompletableFuture<ResponseEntity<Object>> written =
+                cache.write(HttpMethod.PATCH, URI_ITEMS, headers(1L), "{}", transport);
+        assertEquals("a", body(cache.get(URI_ITEMS, headers(1L), transport).join()));
+        write.complete(ok("written", null).join());
+        written.join();
+
+        assertEquals("b", body(cache.get(URI_ITEMS, headers(1L), transport).join()));
+    }
+
+    private ResponseCache cache(boolean enabled, Duration ttl) {
+        return new ResponseCache(meterRegistry, enabled, ttl, Duration.ofMinutes(5), DataSize.ofMegabytes(1));
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("shareit.gateway.cache.requests").tag("result", result).counter().count();
+    }
+
+    private static HttpHeaders headers(Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return headers;
+    }
+
+    private static CompletableFuture<ResponseEntity<Object>> ok(String body, @Nullable String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        return CompletableFuture.completedFuture(response.body(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String body(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Answers requests with queued responses in order and records the headers each request was sent with.
+     */
+    private static class StubTransport implements ServerTransport {
+        private final Deque<CompletableFuture<ResponseEntity<Object>>> answers = new ArrayDeque<>();
+        private final List<HttpHeaders> sent = new ArrayList<>();
+
+        void answer(CompletableFuture<ResponseEntity<Object>> response) {
+            answers.add(response);
+        }
+
+        @Override
+        public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                                  @Nullable Object body) {
+            sent.add(HttpHeaders.readOnlyHttpHeaders(headers));
+            return answers.remove();
+        }
+    }
+}
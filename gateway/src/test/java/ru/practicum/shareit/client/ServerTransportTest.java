@@ -0,0 +1,122 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.StubServer;
+import ru.practicum.shareit.handler.exception.ServerConnectionLimitException;
+import ru.practicum.shareit.handler.exception.ServerUnavailableException;
+
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTransportTest {
+    private StubServer stub;
+    private AsyncServerTransport async;
+    private BlockingServerTransport blocking;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubServer();
+        async = new AsyncServerTransport(new ObjectMapper(), Duration.ofSeconds(1), Duration.ofSeconds(5), 2,
+                Duration.ofMillis(200), 2);
+        blocking = new BlockingServerTransport(new RestTemplate(new HttpComponentsClientHttpRequestFactory()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        async.destroy();
+        stub.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"blocking", "async"})
+    void exchange_whenServerAnswersError_thenPassStatusHeadersAndBodyThrough(String mode) throws Exception {
+        ResponseEntity<Object> response = transport(mode).exchange(HttpMethod.GET, URI.create(stub.url() + "/users/2"),
+                new HttpHeaders(), null).get(5, TimeUnit.SECONDS);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("yes", response.getHeaders().getFirst("X-Stub"));
+        assertEquals(StubServer.NOT_FOUND_BODY, new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"blocking", "async"})
+    void exchange_whenServerDown_thenFailWithServerUnavailable(String mode) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        CompletableFuture<ResponseEntity<Object>> response = transport(mode).exchange(HttpMethod.GET,
+                URI.create("http://localhost:" + port + "/users/1"), new HttpHeaders(), null);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ServerUnavailableException.class, e.getCause());
+    }
+
+    @Test
+    void exchange_whenAsyncMaxConnectionsInFlight_thenFailAfterPoolTimeoutWithoutBlocking() throws Exception {
+        URI uri = URI.create(stub.url() + "/users/1");
+        stub.closeGate();
+        CompletableFuture<ResponseEntity<Object>> first = async.exchange(HttpMethod.GET, uri, new HttpHeaders(), null);
+        CompletableFuture<ResponseEntity<Object>> second = async.exchange(HttpMethod.GET, uri, new HttpHeaders(), null);
+
+        CompletableFuture<ResponseEntity<Object>> third = async.exchange(HttpMethod.GET, uri, new HttpHeaders(), null);
+
+        assertFalse(third.isDone());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> third.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ServerConnectionLimitException.class, e.getCause());
+        stub.openGate();
+        assertEquals(HttpStatus.OK, first.get(5, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(HttpStatus.OK, second.get(5, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(HttpStatus.OK, async.exchange(HttpMethod.GET, uri, new HttpHeaders(), null)
+                .get(5, TimeUnit.SECONDS).getStatusCode());
+        assertTrue(stub.resetPeak() <= 2);
+    }
+
+    @Test
+    void exchange_whenAsyncPermitFreedWithinPoolTimeout_thenSendQueuedRequests() throws Exception {
+        AsyncServerTransport single = new AsyncServerTransport(new ObjectMapper(), Duration.ofSeconds(1),
+                Duration.ofSeconds(5), 1, Duration.ofSeconds(5), 2);
+        try {
+            URI uri = URI.create(stub.url() + "/users/1");
+            stub.closeGate();
+            CompletableFuture<ResponseEntity<Object>> first = single.exchange(HttpMethod.GET, uri, new HttpHeaders(),
+                    null);
+            CompletableFuture<ResponseEntity<Object>> second = single.exchange(HttpMethod.GET, uri, new HttpHeaders(),
+                    null);
+            CompletableFuture<ResponseEntity<Object>> third = single.exchange(HttpMethod.GET, uri, new HttpHeaders(),
+                    null);
+
+            assertFalse(second.isDone());
+            stub.openGate();
+            assertEquals(HttpStatus.OK, first.get(5, TimeUnit.SECONDS).getStatusCode());
+            assertEquals(HttpStatus.OK, second.get(5, TimeUnit.SECONDS).getStatusCode());
+            assertEquals(HttpStatus.OK, third.get(5, TimeUnit.SECONDS).getStatusCode());
+            assertEquals(1, stub.resetPeak());
+        } finally {
+            single.destroy();
+        }
+    }
+
+    private ServerTransport transport(String mode) {
+        return "async".equals(mode) ? async : blocking;
+    }
+}
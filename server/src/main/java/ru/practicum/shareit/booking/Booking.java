@@ -28,6 +28,8 @@ public class Booking {
     @ManyToOne
     @JoinColumn(name = "item_id", nullable = false)
     private Item item;
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
 
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
@@ -2,10 +2,13 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.PageCursor;
 
 import java.util.List;
 
@@ -39,22 +42,28 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDtoInfo> getAllBookingsByUserId(
+    public ResponseEntity<List<BookingDtoInfo>> getAllBookingsByUserId(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(name = "from", defaultValue = "0") int from,
-            @RequestParam(name = "size", defaultValue = "10") int size) {
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "after", required = false) String after) {
         log.info("GET bookings state={}&from{}&size{}", state);
-        return bookingService.getAllBookingsByUserId(userId, state, from, size);
+        List<BookingDtoInfo> bookings = bookingService.getAllBookingsByUserId(userId, state, from, size, after);
+        return PageCursor.toResponse(bookings, size,
+                booking -> BookingMapper.toPageCursor(booking, BookingStatus.valueOf(state)));
     }
 
     @GetMapping("/owner")
-    public List<BookingDtoInfo> getAllBookingsByOwnerId(
+    public ResponseEntity<List<BookingDtoInfo>> getAllBookingsByOwnerId(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(name = "from", defaultValue = "0") int from,
-            @RequestParam(name = "size", defaultValue = "10") int size) {
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "after", required = false) String after) {
         log.info("GET booking owner?state={}", state);
-        return bookingService.getAllBookingsByOwnerId(userId, state, from, size);
+        List<BookingDtoInfo> bookings = bookingService.getAllBookingsByOwnerId(userId, state, from, size, after);
+        return PageCursor.toResponse(bookings, size,
+                booking -> BookingMapper.toPageCursor(booking, BookingStatus.valueOf(state)));
     }
 }
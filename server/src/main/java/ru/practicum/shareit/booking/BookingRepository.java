@@ -4,43 +4,50 @@ package ru.practicum.shareit.booking;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingDtoForItem;
+import ru.practicum.shareit.booking.dto.BookingShort;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBooker_IdOrderByEndDesc(Long userId, Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    @Query("select new ru.practicum.shareit.booking.dto.BookingDtoForItem(b.id, b.booker.id) " +
+            "from bookings b " +
+            "where b.item.id = :itemId and b.status = :status and b.start > :now " +
+            "order by b.start asc")
+    List<BookingDtoForItem> findNextBookings(Long itemId, BookingStatus status, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findByBooker_IdAndStartLessThanEqualAndEndGreaterThanOrderByEndDesc(Long userId,
-                                                                                      LocalDateTime dateForStart,
-                                                                                      LocalDateTime dateForEnd,
-                                                                                      Pageable pageable);
-
-    List<Booking> findByItem_Owner_IdAndStartLessThanEqualAndEndGreaterThanOrderByEndDesc(Long userId,
-                                                                                          LocalDateTime dateForStart,
-                                                                                          LocalDateTime dateForEnd,
-                                                                                          Pageable pageable);
-
-    List<Booking> findAllByBooker_IdAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime date, Pageable pageable);
-
-    List<Booking> findByBooker_IdAndStartAfterOrderByEndDesc(Long userId, LocalDateTime date, Pageable pageable);
-
-    List<Booking> findAllByBooker_IdAndStatusIsOrderByStartDesc(Long userId, BookingStatus status, Pageable pageable);
-
-    List<Booking> findByItem_Owner_IdOrderByEndDesc(Long userId, Pageable pageable);
-
-    List<Booking> findByItem_Owner_IdAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime date, Pageable pageable);
-
-    List<Booking> findByItem_Owner_IdAndStartAfterOrderByEndDesc(Long userId, LocalDateTime date, Pageable pageable);
-
-    List<Booking> findByItem_Owner_IdAndStatusIsOrderByStartDesc(Long userId, BookingStatus status, Pageable pageable);
-
-    List<Booking> findByItem_IdAndStartIsAfterOrderByStartDesc(Long itemIds, LocalDateTime date);
-
-    List<Booking> findByItem_IdAndEndIsBeforeOrderByEndDesc(Long items, LocalDateTime date);
+    @Query("select new ru.practicum.shareit.booking.dto.BookingDtoForItem(b.id, b.booker.id) " +
+            "from bookings b " +
+            "where b.item.id = :itemId and b.status = :status and b.end < :now " +
+            "order by b.end desc")
+    List<BookingDtoForItem> findLastBookings(Long itemId, BookingStatus status, LocalDateTime now, Pageable pageable);
 
     List<Booking> findAllBookingsByItem_IdAndBooker_IdAndEndBeforeAndStatus(Long itemId, Long userId,
                                                                             LocalDateTime date,
                                                                             BookingStatus status, Sort sort);
 
+    /**
+     * Per item, the approved booking that ended last before {@code now} and the one that starts first after it. Each
+     * half ranks only its item's rows through {@code idx_bookings_item_status_end} or
+     * {@code idx_bookings_item_status_start} and keeps the top one, so ties on the same instant still yield one row.
+     */
+    @Query(value = "select r.booking_id as \"id\", r.booker_id as \"bookerId\", r.item_id as \"itemId\", " +
+            "r.start_booking as \"start\" " +
+            "from (select b.booking_id, b.booker_id, b.item_id, b.start_booking, " +
+            "row_number() over (partition by b.item_id order by b.end_booking desc, b.booking_id desc) as rn " +
+            "from bookings b " +
+            "where b.item_id in :itemIds and b.status = :#{#status.name()} and b.end_booking < :now) r " +
+            "where r.rn = 1 " +
+            "union all " +
+            "select n.booking_id, n.booker_id, n.item_id, n.start_booking " +
+            "from (select b.booking_id, b.booker_id, b.item_id, b.start_booking, " +
+            "row_number() over (partition by b.item_id order by b.start_booking asc, b.booking_id asc) as rn " +
+            "from bookings b " +
+            "where b.item_id in :itemIds and b.status = :#{#status.name()} and b.start_booking > :now) n " +
+            "where n.rn = 1",
+            nativeQuery = true)
+    List<BookingShort> findLastAndNextBookings(Collection<Long> itemIds, BookingStatus status, LocalDateTime now);
 }
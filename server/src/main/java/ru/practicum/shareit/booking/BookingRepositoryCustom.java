@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.common.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+    /**
+     * Bookings of the user in the given role and state, newest first. {@code now} is the single clock snapshot all
+     * time predicates are evaluated against. With a cursor the page seeks past it and {@code offset} is ignored.
+     * Rows are projected straight from the columns, no entities are loaded.
+     */
+    List<BookingRow> findBookings(BookingRole role, Long userId, BookingStatus state, LocalDateTime now,
+                                  @Nullable PageCursor after, int offset, int size);
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.common.PageCursor;
+import ru.practicum.shareit.handler.exception.IllegalArgumentExceptionCustom;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Every value goes through a named parameter rather than a literal, so a given role and state always render the same
+ * SQL and the query plan and JDBC statement caches are reused across users and requests.
+ */
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingRow> findBookings(BookingRole role, Long userId, BookingStatus state, LocalDateTime now,
+                                         PageCursor after, int offset, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingRow> query = cb.createQuery(BookingRow.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+        Join<Booking, User> booker = booking.join("booker");
+
+        ParameterExpression<Long> userParam = cb.parameter(Long.class, "userId");
+        ParameterExpression<LocalDateTime> nowParam = cb.parameter(LocalDateTime.class, "now");
+        ParameterExpression<BookingStatus> statusParam = cb.parameter(BookingStatus.class, "status");
+        ParameterExpression<LocalDateTime> afterKeyParam = cb.parameter(LocalDateTime.class, "afterKey");
+        ParameterExpression<Long> afterIdParam = cb.parameter(Long.class, "afterId");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (role == BookingRole.OWNER) {
+            predicates.add(cb.equal(booking.get("ownerId"), userParam));
+        } else {
+            predicates.add(cb.equal(booker.get("id"), userParam));
+        }
+        boolean usesNow = false;
+        switch (state) {
+            case ALL:
+                break;
+            case CURRENT:
+                predicates.add(cb.lessThanOrEqualTo(booking.get("start"), nowParam));
+                predicates.add(cb.greaterThan(booking.get("end"), nowParam));
+                usesNow = true;
+                break;
+            case PAST:
+                predicates.add(cb.lessThan(booking.get("end"), nowParam));
+                usesNow = true;
+                break;
+            case FUTURE:
+                predicates.add(cb.greaterThan(booking.get("start"), nowParam));
+                usesNow = true;
+                break;
+            case WAITING:
+            case REJECTED:
+                predicates.add(cb.equal(booking.get("status"), statusParam));
+                break;
+            default:
+                throw new IllegalArgumentExceptionCustom("Unknown state: UNSUPPORTED_STATUS");
+        }
+
+        Path<LocalDateTime> sortKey = booking.get(state.isSortedByStart() ? "start" : "end");
+        Path<Long> id = booking.get("id");
+        if (after != null) {
+            predicates.add(cb.or(cb.lessThan(sortKey, afterKeyParam),
+                    cb.and(cb.equal(sortKey, afterKeyParam), cb.lessThan(id, afterIdParam))));
+        }
+
+        query.select(cb.construct(BookingRow.class,
+                        booking.get("id"), booking.get("start"), booking.get("end"), booking.get("status"),
+                        booker.get("id"), booker.get("name"), booker.get("email"),
+                        item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                        booking.get("ownerId"), item.get("requestId")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(sortKey), cb.desc(id));
+
+        TypedQuery<BookingRow> typedQuery = entityManager.createQuery(query)
+                .setParameter(userParam, userId);
+        if (usesNow) {
+            typedQuery.setParameter(nowParam, now);
+        }
+        if (state == BookingStatus.WAITING || state == BookingStatus.REJECTED) {
+            typedQuery.setParameter(statusParam, state);
+        }
+        if (after != null) {
+            typedQuery.setParameter(afterKeyParam, after.requireSortKey())
+                    .setParameter(afterIdParam, after.getId());
+        } else {
+            typedQuery.setFirstResult(offset);
+        }
+        return typedQuery.setMaxResults(size).getResultList();
+    }
+}
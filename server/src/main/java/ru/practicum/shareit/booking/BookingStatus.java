@@ -9,4 +9,11 @@ public enum BookingStatus {
     CURRENT,
     PAST,
     FUTURE;
+
+    /**
+     * PAST, WAITING and REJECTED listings are ordered by start, the rest by end.
+     */
+    public boolean isSortedByStart() {
+        return this == PAST || this == WAITING || this == REJECTED;
+    }
 }
@@ -3,13 +3,19 @@ package ru.practicum.shareit.booking.dto;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.common.PageCursor;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.util.List;
+
 @Component
 public class BookingMapper {
     private final ItemService itemService;
@@ -27,6 +33,7 @@ public class BookingMapper {
                 .end(bookingDto.getEnd())
                 .booker(booker)
                 .item(item)
+                .ownerId(item.getOwner().getId())
                 .build();
     }
 
@@ -37,12 +44,39 @@ public class BookingMapper {
                 .start(booking.getStart())
                 .end(booking.getEnd())
                 .booker(UserMapper.toUserDto(booking.getBooker()))
-                .item(ItemMapper.toItemDto(booking.getItem()))
+                .item(ItemMapper.toItemDtoWithoutComments(booking.getItem()))
                 .status(booking.getStatus())
                 .build();
     }
 
-    public static BookingDtoForItem bookingDtoForItem(Booking booking) {
-        return new BookingDtoForItem(booking.getId(), booking.getBooker().getId());
+    public static BookingDtoInfo toBookingDtoInfo(BookingRow row) {
+        return BookingDtoInfo.builder()
+                .id(row.getId())
+                .start(row.getStart())
+                .end(row.getEnd())
+                .booker(UserDto.builder()
+                        .id(row.getBookerId())
+                        .name(row.getBookerName())
+                        .email(row.getBookerEmail())
+                        .build())
+                .item(ItemDto.builder()
+                        .id(row.getItemId())
+                        .name(row.getItemName())
+                        .description(row.getItemDescription())
+                        .available(row.getItemAvailable())
+                        .owner(row.getItemOwnerId())
+                        .comments(List.of())
+                        .requestId(row.getItemRequestId())
+                        .build())
+                .status(row.getStatus())
+                .build();
+    }
+
+    public static BookingDtoForItem bookingDtoForItem(BookingShort booking) {
+        return new BookingDtoForItem(booking.getId(), booking.getBookerId());
+    }
+
+    public static PageCursor toPageCursor(BookingDtoInfo booking, BookingStatus state) {
+        return PageCursor.of(state.isSortedByStart() ? booking.getStart() : booking.getEnd(), booking.getId());
     }
 }
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat row of a booking listing: only the columns {@link BookingDtoInfo} shows, selected by a constructor
+ * expression, so listings neither hydrate entities nor register them in the persistence context.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingRow {
+    private Long id;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private BookingStatus status;
+    private Long bookerId;
+    private String bookerName;
+    private String bookerEmail;
+    private Long itemId;
+    private String itemName;
+    private String itemDescription;
+    private Boolean itemAvailable;
+    private Long itemOwnerId;
+    private Long itemRequestId;
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+public interface BookingShort {
+    Long getId();
+
+    Long getBookerId();
+
+    Long getItemId();
+
+    LocalDateTime getStart();
+}
@@ -6,8 +6,10 @@ import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoForItem;
 import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.booking.dto.BookingShort;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface BookingService {
@@ -17,9 +19,9 @@ public interface BookingService {
 
     BookingDtoInfo getBookingById(Long bookingId, Long userId);
 
-    List<BookingDtoInfo> getAllBookingsByUserId(Long userId, String state, int from, int size);
+    List<BookingDtoInfo> getAllBookingsByUserId(Long userId, String state, int from, int size, String after);
 
-    List<BookingDtoInfo> getAllBookingsByOwnerId(Long userId, String state, int from, int size);
+    List<BookingDtoInfo> getAllBookingsByOwnerId(Long userId, String state, int from, int size, String after);
 
     Booking getByIdOrNotFoundError(Long bookingId);
 
@@ -31,4 +33,6 @@ public interface BookingService {
     List<BookingDtoForItem> getNextBooking(Long itemId, LocalDateTime now);
 
     List<BookingDtoForItem> getLastBooking(Long itemId, LocalDateTime now);
+
+    List<BookingShort> getLastAndNextBookings(Collection<Long> itemIds, LocalDateTime now);
 }
@@ -1,6 +1,6 @@
 package ru.practicum.shareit.booking.service;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
@@ -8,12 +8,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingRole;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoForItem;
 import ru.practicum.shareit.booking.dto.BookingDtoInfo;
 import ru.practicum.shareit.booking.dto.BookingMapper;
-import ru.practicum.shareit.common.CustomPageRequest;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.common.PageCursor;
+import ru.practicum.shareit.common.RequestScopedLookup;
 import ru.practicum.shareit.handler.exception.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
@@ -22,6 +25,7 @@ import ru.practicum.shareit.user.service.UserService;
 
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -31,21 +35,23 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final ItemService itemService;
     private final UserService userService;
+    private final RequestScopedLookup requestScopedLookup;
 
     @Autowired
     public BookingServiceImpl(BookingRepository bookingRepository, @Lazy ItemService itemService,
-                              UserService userService) {
+                              UserService userService, RequestScopedLookup requestScopedLookup) {
         this.bookingRepository = bookingRepository;
         this.itemService = itemService;
         this.userService = userService;
+        this.requestScopedLookup = requestScopedLookup;
     }
 
     @Override
     @Transactional
     public BookingDtoInfo create(BookingDto bookingDto, Long bookerId) {
-        checkBooking(bookingDto, bookerId);
-        Item item = itemService.getByIdOrNotFoundError(bookingDto.getItemId());
         User booker = userService.getByIdOrNotFoundError(bookerId);
+        Item item = itemService.getByIdOrNotFoundError(bookingDto.getItemId());
+        checkBooking(item, bookerId);
         Booking booking = BookingMapper.toBooking(bookingDto, item, booker);
         booking.setStatus(BookingStatus.WAITING);
         return BookingMapper.toBookingDtoInfo(bookingRepository.save(booking));
@@ -55,7 +61,7 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     public BookingDtoInfo approve(Long bookingId, Long ownerId, Boolean approved) {
         Booking booking = getByIdOrNotFoundError(bookingId);
-        userService.getByIdOrNotFoundError(ownerId);
+        userService.checkExistsOrNotFoundError(ownerId);
         Item item = booking.getItem();
 
         if (item.getOwner().getId().longValue() != ownerId.longValue()) {
@@ -77,7 +83,7 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public BookingDtoInfo getBookingById(Long bookingId, Long userId) {
-        userService.getByIdOrNotFoundError(userId);
+        userService.checkExistsOrNotFoundError(userId);
         Booking booking = getByIdOrNotFoundError(bookingId);
         if (!(userId.longValue() == (booking.getItem().getOwner().getId()).longValue()) &&
                 !(booking.getBooker().getId().longValue() == userId.longValue())) {
@@ -87,82 +93,23 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDtoInfo> getAllBookingsByUserId(Long userId, String status, int from, int size) {
-        Pageable pageable = CustomPageRequest.of(from, size);
-        userService.getByIdOrNotFoundError(userId);
-        BookingStatus state = BookingStatus.valueOf(status);
-        List<Booking> bookings;
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByBooker_IdOrderByEndDesc(userId, pageable);
-                break;
-            case CURRENT:
-                bookings =
-                        bookingRepository.findByBooker_IdAndStartLessThanEqualAndEndGreaterThanOrderByEndDesc(userId,
-                                LocalDateTime.now(), LocalDateTime.now(), pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findAllByBooker_IdAndEndBeforeOrderByStartDesc(userId,
-                        LocalDateTime.now(), pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByBooker_IdAndStartAfterOrderByEndDesc(userId,
-                        LocalDateTime.now(), pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllByBooker_IdAndStatusIsOrderByStartDesc(userId,
-                        BookingStatus.WAITING, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllByBooker_IdAndStatusIsOrderByStartDesc(userId,
-                        BookingStatus.REJECTED, pageable);
-                break;
-            default:
-                throw new IllegalArgumentExceptionCustom("Unknown state: UNSUPPORTED_STATUS");
-        }
-        return bookings.stream().map(BookingMapper::toBookingDtoInfo).collect(Collectors.toList());
+    public List<BookingDtoInfo> getAllBookingsByUserId(Long userId, String status, int from, int size,
+                                                       String after) {
+        userService.checkExistsOrNotFoundError(userId);
+        return getBookings(BookingRole.BOOKER, userId, status, from, size, after);
     }
 
     @Override
-    public List<BookingDtoInfo> getAllBookingsByOwnerId(Long userId, String status, int from, int size) {
-        userService.getByIdOrNotFoundError(userId);
-        Pageable pageable = CustomPageRequest.of(from, size);
-        BookingStatus state = BookingStatus.valueOf(status);
-        List<Booking> bookings;
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByItem_Owner_IdOrderByEndDesc(userId, pageable);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByItem_Owner_IdAndStartLessThanEqualAndEndGreaterThanOrderByEndDesc(
-                        userId, LocalDateTime.now(), LocalDateTime.now(), pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByItem_Owner_IdAndEndBeforeOrderByStartDesc(userId,
-                        LocalDateTime.now(), pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByItem_Owner_IdAndStartAfterOrderByEndDesc(
-                        userId, LocalDateTime.now(), pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByItem_Owner_IdAndStatusIsOrderByStartDesc(userId,
-                        BookingStatus.WAITING, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByItem_Owner_IdAndStatusIsOrderByStartDesc(userId,
-                        BookingStatus.REJECTED, pageable);
-                break;
-            default:
-                throw new IllegalArgumentExceptionCustom(String.format("Unknown status %s", state.toString()));
-        }
-        return bookings.stream().map(BookingMapper::toBookingDtoInfo).collect(Collectors.toList());
+    public List<BookingDtoInfo> getAllBookingsByOwnerId(Long userId, String status, int from, int size,
+                                                        String after) {
+        userService.checkExistsOrNotFoundError(userId);
+        return getBookings(BookingRole.OWNER, userId, status, from, size, after);
     }
 
     @Override
     public Booking getByIdOrNotFoundError(Long bookingId) {
-        return bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new NotFoundException(String.format("Not found booking, id: %d", bookingId)));
+        return requestScopedLookup.get(Booking.class, bookingId, () -> bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new NotFoundException(String.format("Not found booking, id: %d", bookingId))));
     }
 
     @Override
@@ -175,28 +122,35 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingDtoForItem> getNextBooking(Long itemId, LocalDateTime now) {
-        List<Booking> bookingsList = bookingRepository.findByItem_IdAndStartIsAfterOrderByStartDesc(itemId, now);
-        return bookingsList
-                .stream()
-                .filter(x -> x.getStatus().equals(BookingStatus.APPROVED))
-                .map(BookingMapper::bookingDtoForItem)
-                .collect(Collectors.toList());
+        return bookingRepository.findNextBookings(itemId, BookingStatus.APPROVED, now, PageRequest.of(0, 1));
     }
 
     @Override
     public List<BookingDtoForItem> getLastBooking(Long itemId, LocalDateTime now) {
-        return bookingRepository.findByItem_IdAndEndIsBeforeOrderByEndDesc(itemId, now)
+        return bookingRepository.findLastBookings(itemId, BookingStatus.APPROVED, now, PageRequest.of(0, 1));
+    }
+
+    @Override
+    public List<BookingShort> getLastAndNextBookings(Collection<Long> itemIds, LocalDateTime now) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        return bookingRepository.findLastAndNextBookings(itemIds, BookingStatus.APPROVED, now);
+    }
+
+    private List<BookingDtoInfo> getBookings(BookingRole role, Long userId, String status, int from, int size,
+                                             String after) {
+        BookingStatus state = BookingStatus.valueOf(status);
+        PageCursor cursor = after == null ? null : PageCursor.decode(after);
+        return bookingRepository.findBookings(role, userId, state, LocalDateTime.now(), cursor, from, size)
                 .stream()
-                .filter(x -> x.getStatus().equals(BookingStatus.APPROVED))
-                .map(BookingMapper::bookingDtoForItem)
+                .map(BookingMapper::toBookingDtoInfo)
                 .collect(Collectors.toList());
     }
 
-    private void checkBooking(BookingDto bookingDto, Long bookerId) {
-        Item item = itemService.getByIdOrNotFoundError(bookingDto.getItemId());
-        userService.getByIdOrNotFoundError(bookerId);
+    private void checkBooking(Item item, Long bookerId) {
         if (!item.getAvailable()) {
-            throw new BadRequestException(String.format("Not available. Item %d.", bookingDto.getItemId()));
+            throw new BadRequestException(String.format("Not available. Item %d.", item.getId()));
         }
         if (item.getOwner().getId().longValue() == bookerId.longValue()) {
             throw new OwnerException("Booker is the owner the item.");
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.dto.UserMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Caffeine caches named by {@code spring.cache.cache-names} with {@code spring.cache.caffeine.spec}.
+ * <p>
+ * Entities are mutable and the one a repository returns is still managed by the session that loaded it, so a cache of
+ * entities stores a detached copy and hands out a fresh copy on every hit: changes made to a returned instance, even
+ * ones rolled back later, never reach the next reader.
+ */
+@Configuration
+public class CacheConfig {
+    private static final Map<String, UnaryOperator<Object>> ENTITY_COPIES = Map.of(
+            UserRepository.USERS_CACHE, user -> UserMapper.copy((User) user),
+            ItemRepository.ITEMS_CACHE, item -> ItemMapper.copy((Item) item));
+
+    @Bean
+    public CacheManager cacheManager(@Value("${spring.cache.cache-names:}") List<String> cacheNames,
+                                     @Value("${spring.cache.caffeine.spec:}") String spec) {
+        CaffeineCacheManager cacheManager = new CopyingCacheManager();
+        if (!spec.isEmpty()) {
+            cacheManager.setCacheSpecification(spec);
+        }
+        if (!cacheNames.isEmpty()) {
+            cacheManager.setCacheNames(cacheNames);
+        }
+        return cacheManager;
+    }
+
+    private static class CopyingCacheManager extends CaffeineCacheManager {
+        @Override
+        protected Cache adaptCaffeineCache(String name,
+                                           com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+            UnaryOperator<Object> copy = ENTITY_COPIES.get(name);
+            if (copy == null) {
+                return super.adaptCaffeineCache(name, cache);
+            }
+            return new CaffeineCache(name, cache, isAllowNullValues()) {
+                @Override
+                protected Object toStoreValue(Object userValue) {
+                    return super.toStoreValue(userValue == null ? null : copy.apply(userValue));
+                }
+
+                @Override
+                protected Object fromStoreValue(Object storeValue) {
+                    Object value = super.fromStoreValue(storeValue);
+                    return value == null ? null : copy.apply(value);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * ETags on GET responses of the endpoints the gateway caches, so it can revalidate a stale entry with
+ * {@code If-None-Match} and get an empty 304 back when nothing changed. The filter buffers each response to hash it,
+ * so it is enabled with {@code shareit.etag.enabled=true}, together with the gateway cache.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.etag.enabled", havingValue = "true")
+public class EtagConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/items/*", "/requests/*", "/users/*");
+        return registration;
+    }
+}
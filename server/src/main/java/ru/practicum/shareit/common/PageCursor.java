@@ -0,0 +1,80 @@
+package ru.practicum.shareit.common;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.handler.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque position of the last row of a page: the sort key (if the listing has one) and the id as a tie-breaker.
+ * The next page starts strictly after this position, so the database seeks instead of skipping rows.
+ */
+@Getter
+@EqualsAndHashCode
+public class PageCursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime sortKey;
+    private final long id;
+
+    private PageCursor(LocalDateTime sortKey, long id) {
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    public static PageCursor of(LocalDateTime sortKey, long id) {
+        return new PageCursor(sortKey, id);
+    }
+
+    public static PageCursor of(long id) {
+        return new PageCursor(null, id);
+    }
+
+    public String encode() {
+        String value = (sortKey == null ? "" : sortKey.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException(String.format("Invalid cursor %s", cursor));
+            }
+            String sortKey = value.substring(0, separator);
+            long id = Long.parseLong(value.substring(separator + 1));
+            return new PageCursor(sortKey.isEmpty() ? null : LocalDateTime.parse(sortKey), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException(String.format("Invalid cursor %s", cursor));
+        }
+    }
+
+    public LocalDateTime requireSortKey() {
+        if (sortKey == null) {
+            throw new BadRequestException("Cursor does not belong to this listing");
+        }
+        return sortKey;
+    }
+
+    /**
+     * Wraps a page into a response; a full page carries the cursor of its last row in {@code X-Next-Cursor}.
+     */
+    public static <T> ResponseEntity<List<T>> toResponse(List<T> page, int size, Function<T, PageCursor> cursor) {
+        if (page.isEmpty() || page.size() < size) {
+            return ResponseEntity.ok(page);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(NEXT_CURSOR_HEADER, cursor.apply(page.get(page.size() - 1)).encode());
+        return ResponseEntity.ok().headers(headers).body(page);
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Identity map bound to the current HTTP request: an entity is loaded at most once per request, whichever service
+ * asks for it and whatever transaction it runs in. Outside a request every lookup goes to the loader.
+ */
+@Component
+public class RequestScopedLookup {
+    private static final String ATTRIBUTE = RequestScopedLookup.class.getName();
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestScopedLookup(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T get(Class<T> type, Long id, Supplier<T> loader) {
+        Map<String, Object> entities = entities();
+        if (entities == null) {
+            return loader.get();
+        }
+        String key = key(type, id);
+        Object found = entities.get(key);
+        if (found != null) {
+            saved(type).increment();
+            return type.cast(found);
+        }
+        T loaded = loader.get();
+        entities.put(key, loaded);
+        return loaded;
+    }
+
+    /**
+     * Drops the entity so the next lookup in this request reads it again, e.g. after it was modified or deleted.
+     */
+    public void forget(Class<?> type, Long id) {
+        Map<String, Object> entities = entities();
+        if (entities != null) {
+            entities.remove(key(type, id));
+        }
+    }
+
+    private Counter saved(Class<?> type) {
+        return Counter.builder("shareit.lookup.deduplicated")
+                .description("Entity lookups answered from the current request instead of the repository")
+                .tag("entity", type.getSimpleName())
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> entities() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<String, Object> entities = (Map<String, Object>) attributes.getAttribute(ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (entities == null) {
+            entities = new HashMap<>();
+            attributes.setAttribute(ATTRIBUTE, entities, RequestAttributes.SCOPE_REQUEST);
+        }
+        return entities;
+    }
+
+    private static String key(Class<?> type, Long id) {
+        return type.getName() + '#' + id;
+    }
+}
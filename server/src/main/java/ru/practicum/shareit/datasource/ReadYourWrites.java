@@ -0,0 +1,60 @@
+package ru.practicum.shareit.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Remembers users who wrote recently. Their reads go to the primary for the configured window, so they see their own
+ * changes even while the replica is still catching up.
+ */
+public class ReadYourWrites {
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWrites(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void markWrite(Long userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    public boolean wroteRecently(Long userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+
+    public static boolean isPinned() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    /**
+     * Runs a load whose result outlives the request, such as an in-memory index snapshot, with reads pinned to the
+     * primary, so a lagging replica cannot leave stale rows behind.
+     */
+    public static <T> T onPrimary(Supplier<T> load) {
+        boolean pinned = isPinned();
+        pin();
+        try {
+            return load.get();
+        } finally {
+            if (!pinned) {
+                release();
+            }
+        }
+    }
+
+    static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    static void release() {
+        PINNED.remove();
+    }
+}
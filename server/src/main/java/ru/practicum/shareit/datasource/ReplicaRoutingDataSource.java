@@ -0,0 +1,63 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections of read-only transactions to the replica and everything else to the primary. A thread pinned by
+ * {@link ReadYourWrites} reads from the primary too. Must sit behind a lazy connection proxy, so the connection is
+ * fetched at the first statement, when the read-only flag of the transaction is already known.
+ * <p>
+ * A transaction that got a replica connection is marked, so caches that outlive it can skip what it read: add
+ * {@link #REPLICA_READ} to the {@code unless} condition of a {@code @Cacheable} method.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String REPLICA_READ =
+            "T(ru.practicum.shareit.datasource.ReplicaRoutingDataSource).isReplicaRead()";
+
+    private static final Object REPLICA_READ_KEY = new Object();
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadYourWrites.isPinned()) {
+            markReplicaRead();
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+
+    /**
+     * Whether the current transaction reads from the replica.
+     */
+    public static boolean isReplicaRead() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_READ_KEY);
+    }
+
+    private static void markReplicaRead() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || isReplicaRead()) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_READ_KEY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_READ_KEY);
+            }
+        });
+    }
+}
@@ -2,7 +2,9 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
@@ -25,11 +27,13 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<ItemDto> getAllItems(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                     @RequestParam(name = "from", defaultValue = "0")int from,
-                                     @RequestParam(name = "size", defaultValue = "10") int size) {
+    public ResponseEntity<List<ItemDto>> getAllItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                     @RequestParam(name = "from", defaultValue = "0")int from,
+                                                     @RequestParam(name = "size", defaultValue = "10") int size,
+                                                     @RequestParam(name = "after", required = false) String after) {
         log.info("GetAllItems userId {}", userId);
-        return itemService.getAllItems(userId, from, size);
+        List<ItemDto> items = itemService.getAllItems(userId, from, size, after);
+        return PageCursor.toResponse(items, size, item -> PageCursor.of(item.getId()));
     }
 
     @GetMapping("/{itemId}")
@@ -46,6 +50,13 @@ public class ItemController {
         return itemService.searchItem(text, from, size);
     }
 
+    @GetMapping("/suggest")
+    public List<String> suggestItemNames(@RequestParam String prefix,
+                                         @RequestParam(name = "size", defaultValue = "10") int size) {
+        log.info("Suggest item names. Prefix {}", prefix);
+        return itemService.suggestItemNames(prefix, size);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestHeader("X-Sharer-User-Id") Long userId,
                               @PathVariable Long itemId,
@@ -1,15 +1,65 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.datasource.ReplicaRoutingDataSource;
+import ru.practicum.shareit.item.dto.ItemSearchDocument;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String ITEMS_CACHE = "items";
+
+    /**
+     * Cached by id unless read from the replica; the owner is fetched with the item so the cached copy never needs a
+     * session.
+     */
+    @Override
+    @Cacheable(cacheNames = ITEMS_CACHE, unless = "#result == null || " + ReplicaRoutingDataSource.REPLICA_READ)
+    @EntityGraph(attributePaths = "owner")
+    Optional<Item> findById(Long id);
+
+    /**
+     * Uncached read of the managed item for modifications.
+     */
+    @Query("select i from Item i where i.id = :id")
+    Optional<Item> findForUpdate(Long id);
+
     List<Item> findByOwner_IdOrderByIdAsc(Long id, Pageable pageable);
 
-    List<Item> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(String textInName,
-                                                                                              String textInDescription,
-                                                                                              Pageable pageable);
+    List<Item> findByOwner_IdAndIdGreaterThanOrderByIdAsc(Long id, Long afterId, Pageable pageable);
+
+    /**
+     * Available items whose name or description contains {@code text}; name matches rank first.
+     * {@code text} is expected lower-cased with LIKE wildcards escaped by '!'.
+     */
+    @Query("select i from Item i " +
+            "where i.available = true and i.searchText like concat('%', :text, '%') escape '!' " +
+            "order by case when lower(i.name) like concat('%', :text, '%') escape '!' then 0 else 1 end, i.id")
+    List<Item> search(String text, Pageable pageable);
+
+    /**
+     * Distinct names of available items starting with {@code prefix}, for typeahead while the suggest index is off.
+     * {@code prefix} is expected lower-cased with LIKE wildcards escaped by '!'.
+     */
+    @Query("select i.name from Item i " +
+            "where i.available = true and lower(i.name) like concat(:prefix, '%') escape '!' " +
+            "group by i.name order by lower(i.name), i.name")
+    List<String> suggestNames(String prefix, Pageable pageable);
+
+    @EntityGraph(attributePaths = "owner")
+    List<Item> findByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "owner")
+    List<Item> findAllByRequestIdInOrderByIdAsc(Collection<Long> requestIds);
+
+    @Query("select i.id as id, i.name as name, i.description as description, i.available as available, " +
+            "i.owner.id as ownerId from Item i order by i.id")
+    List<ItemSearchDocument> findAllSearchDocuments();
 }
@@ -1,23 +1,29 @@
 package ru.practicum.shareit.item.dto;
 
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dto.UserMapper;
 
-import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 public class ItemMapper {
-    public static ItemDto toItemDto(Item item) {
-        if (item.getComments() == null) {
-            item.setComments(new ArrayList<>());
-        }
+    /**
+     * For views that embed an item (bookings, request answers) and do not show its comments; the list is left empty.
+     */
+    public static ItemDto toItemDtoWithoutComments(Item item) {
+        return toItemDto(item, List.of());
+    }
+
+    public static ItemDto toItemDto(Item item, List<Comment> comments) {
         return ItemDto.builder()
                 .id(item.getId())
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
                 .owner(item.getOwner().getId())
-                .comments(item.getComments()
+                .comments(comments
                         .stream()
                         .map(CommentMapper::toCommentDto)
                         .collect(Collectors.toList()))
@@ -36,4 +42,16 @@ public class ItemMapper {
                 .requestId(itemDto.getRequestId())
                 .build();
     }
+
+    public static Item copy(Item item) {
+        return Item.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .owner(item.getOwner() == null ? null : UserMapper.copy(item.getOwner()))
+                .requestId(item.getRequestId())
+                .searchText(item.getSearchText())
+                .build();
+    }
 }
@@ -4,8 +4,7 @@ import lombok.*;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 
 
@@ -17,6 +16,12 @@ import java.util.Objects;
 @AllArgsConstructor
 @NoArgsConstructor
 public class Item {
+    /**
+     * Joins name and description in {@link #searchText}; search queries containing it are rejected, so no match can
+     * start in the name and end in the description.
+     */
+    public static final char SEARCH_SEPARATOR = '\u001f';
+
     @Id
     @Column(name = "item_id", nullable = false)
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,12 +34,22 @@ public class Item {
     @ManyToOne
     @JoinColumn(name = "owner_id")
     private User owner;
-
-    @OneToMany
-    @JoinColumn(name = "item_id")
-    private List<Comment> comments = new ArrayList<>();
     @Column(name = "request_id")
     private Long requestId;
+    @Column(name = "search_text")
+    @Setter(AccessLevel.NONE)
+    private String searchText;
+
+    /**
+     * Lower-cased name and description the search index is built over; kept in sync on every insert and update.
+     * Lower-casing can lengthen a string (e.g. 'İ' becomes 'i' and a combining dot), so the column holds twice the
+     * length of name, separator and description.
+     */
+    @PrePersist
+    @PreUpdate
+    void updateSearchText() {
+        searchText = (name + SEARCH_SEPARATOR + (description == null ? "" : description)).toLowerCase(Locale.ROOT);
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -46,7 +61,6 @@ public class Item {
                 Objects.equals(getDescription(), item.getDescription()) &&
                 Objects.equals(getAvailable(), item.getAvailable()) &&
                 Objects.equals(getOwner(), item.getOwner()) &&
-                Objects.equals(getComments(), item.getComments()) &&
                 Objects.equals(getRequestId(), item.getRequestId());
     }
 
@@ -69,9 +83,6 @@ public class Item {
         if (getOwner() != null) {
             hash = hash + getOwner().hashCode();
         }
-        if (getComments() != null) {
-            hash = hash + getComments().hashCode();
-        }
         if (getRequestId() != null) {
             hash = hash + getRequestId().hashCode();
         }
@@ -0,0 +1,283 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.AfterCommit;
+import ru.practicum.shareit.datasource.ReadYourWrites;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemSearchDocument;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over item names and descriptions. Postings are bitmaps over dense document numbers, so a
+ * query intersects one bitmap per trigram and only verifies the surviving candidates. Matching and ranking are the
+ * same as {@link ItemRepository#search}: available items containing the text, name matches first, then by id.
+ * Changes committed while a rebuild reads its snapshot are queued and replayed onto the rebuilt postings before they
+ * are swapped in. Enabled with {@code shareit.search.index.enabled=true}.
+ */
+@Component
+@Slf4j
+public class ItemSearchIndex {
+    private static final int GRAM = 3;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Postings postings = new Postings();
+    private List<Consumer<Postings>> pending;
+    private volatile boolean ready;
+    private volatile long rebuildMillis;
+
+    public ItemSearchIndex(ItemRepository itemRepository, MeterRegistry meterRegistry,
+                           @Value("${shareit.search.index.enabled:false}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+        if (enabled) {
+            Gauge.builder("shareit.search.index.documents", this, ItemSearchIndex::documentCount)
+                    .description("Items held by the in-memory search index")
+                    .register(meterRegistry);
+            Gauge.builder("shareit.search.index.memory", this, ItemSearchIndex::memoryFootprint)
+                    .description("Estimated heap used by the in-memory search index")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder("shareit.search.index.rebuild.time", this, index -> index.rebuildMillis)
+                    .description("Duration of the last full rebuild of the in-memory search index")
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        write(() -> pending = new ArrayList<>());
+        Postings rebuilt = new Postings();
+        try {
+            for (ItemSearchDocument document : ReadYourWrites.onPrimary(itemRepository::findAllSearchDocuments)) {
+                rebuilt.put(document.getId(), document.getOwnerId(), document.getName(), document.getDescription(),
+                        document.getAvailable());
+            }
+        } catch (RuntimeException e) {
+            write(() -> pending = null);
+            throw e;
+        }
+        write(() -> {
+            pending.forEach(change -> change.accept(rebuilt));
+            pending = null;
+            postings = rebuilt;
+        });
+        rebuildMillis = System.currentTimeMillis() - started;
+        ready = true;
+        log.info("Item search index built: {} items in {} ms", rebuilt.docById.size(), rebuildMillis);
+    }
+
+    /**
+     * Indexes the current state of the item once the surrounding transaction commits.
+     */
+    public void update(Item item) {
+        if (!enabled) {
+            return;
+        }
+        Long id = item.getId();
+        Long ownerId = item.getOwner() == null ? null : item.getOwner().getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+        AfterCommit.run(() -> apply(index -> index.put(id, ownerId, name, description, available)));
+    }
+
+    /**
+     * Drops the items of a deleted user once the surrounding transaction commits.
+     */
+    public void removeOwner(Long ownerId) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> apply(index -> index.removeOwner(ownerId)));
+    }
+
+    /**
+     * Ids of the page of matching items, in result order.
+     */
+    public List<Long> search(String text, int from, int size) {
+        String query = text.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            return postings.search(query, from, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return postings.docById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long memoryFootprint() {
+        lock.readLock().lock();
+        try {
+            return postings.memoryFootprint();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<Postings> change) {
+        write(() -> {
+            change.accept(postings);
+            if (pending != null) {
+                pending.add(change);
+            }
+        });
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static final class Postings {
+        private final Map<Long, Integer> docById = new HashMap<>();
+        private final Map<Long, BitSet> docsByGram = new HashMap<>();
+        private final BitSet available = new BitSet();
+        private long[] ids = new long[64];
+        private long[] owners = new long[64];
+        private String[] names = new String[64];
+        private String[] texts = new String[64];
+        private int count;
+
+        void put(Long id, Long ownerId, String name, String description, Boolean isAvailable) {
+            String lowerName = name.toLowerCase(Locale.ROOT);
+            String text = (name + Item.SEARCH_SEPARATOR + (description == null ? "" : description))
+                    .toLowerCase(Locale.ROOT);
+            Integer doc = docById.get(id);
+            if (doc == null) {
+                doc = count++;
+                if (doc == ids.length) {
+                    ids = Arrays.copyOf(ids, doc * 2);
+                    owners = Arrays.copyOf(owners, doc * 2);
+                    names = Arrays.copyOf(names, doc * 2);
+                    texts = Arrays.copyOf(texts, doc * 2);
+                }
+                docById.put(id, doc);
+                ids[doc] = id;
+            } else {
+                unindex(doc);
+            }
+            owners[doc] = ownerId == null ? 0 : ownerId;
+            names[doc] = lowerName;
+            texts[doc] = text;
+            available.set(doc, Boolean.TRUE.equals(isAvailable));
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                docsByGram.computeIfAbsent(gram(text, i), key -> new BitSet()).set(doc);
+            }
+        }
+
+        /**
+         * Removes the owner's documents; their slots stay empty until the next rebuild.
+         */
+        void removeOwner(long ownerId) {
+            docById.values().removeIf(doc -> {
+                if (owners[doc] != ownerId) {
+                    return false;
+                }
+                unindex(doc);
+                available.clear(doc);
+                names[doc] = null;
+                texts[doc] = null;
+                return true;
+            });
+        }
+
+        private void unindex(int doc) {
+            for (int i = 0; i + GRAM <= texts[doc].length(); i++) {
+                long gram = gram(texts[doc], i);
+                BitSet docs = docsByGram.get(gram);
+                if (docs != null) {
+                    docs.clear(doc);
+                    if (docs.isEmpty()) {
+                        docsByGram.remove(gram);
+                    }
+                }
+            }
+        }
+
+        List<Long> search(String query, int from, int size) {
+            BitSet candidates = (BitSet) available.clone();
+            for (int i = 0; i + GRAM <= query.length() && !candidates.isEmpty(); i++) {
+                BitSet docs = docsByGram.get(gram(query, i));
+                if (docs == null) {
+                    return List.of();
+                }
+                candidates.and(docs);
+            }
+            long[] byName = new long[candidates.cardinality()];
+            long[] byDescription = new long[byName.length];
+            int nameMatches = 0;
+            int descriptionMatches = 0;
+            for (int doc = candidates.nextSetBit(0); doc >= 0; doc = candidates.nextSetBit(doc + 1)) {
+                if (names[doc].contains(query)) {
+                    byName[nameMatches++] = ids[doc];
+                } else if (texts[doc].contains(query)) {
+                    byDescription[descriptionMatches++] = ids[doc];
+                }
+            }
+            Arrays.sort(byName, 0, nameMatches);
+            Arrays.sort(byDescription, 0, descriptionMatches);
+            List<Long> page = new ArrayList<>(Math.min(size, nameMatches + descriptionMatches));
+            for (int i = from; i < nameMatches + descriptionMatches && page.size() < size; i++) {
+                page.add(i < nameMatches ? byName[i] : byDescription[i - nameMatches]);
+            }
+            return page;
+        }
+
+        long memoryFootprint() {
+            long bytes = (ids.length + owners.length) * 8L + (names.length + texts.length) * 8L
+                    + docById.size() * 64L;
+            for (int doc : docById.values()) {
+                bytes += 40L + names[doc].length() * 2L + 40L + texts[doc].length() * 2L;
+            }
+            for (BitSet docs : docsByGram.values()) {
+                bytes += 64L + docs.size() / 8;
+            }
+            return bytes + available.size() / 8;
+        }
+
+        private static long gram(String text, int start) {
+            return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+        }
+    }
+}
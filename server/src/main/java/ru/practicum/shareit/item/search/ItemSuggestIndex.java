@@ -0,0 +1,161 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.AfterCommit;
+import ru.practicum.shareit.datasource.ReadYourWrites;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemSearchDocument;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Sorted map of normalized names of available items for typeahead. A prefix lookup is a range scan over
+ * {@code [prefix, prefix + '\uffff')} that stops after the requested number of distinct names. Changes committed
+ * while a rebuild reads its snapshot are queued and replayed onto the rebuilt names before they are swapped in.
+ * Enabled with {@code shareit.suggest.index.enabled=true}.
+ */
+@Component
+@Slf4j
+public class ItemSuggestIndex {
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+
+    private volatile Names names = new Names();
+    private List<Consumer<Names>> pending;
+    private volatile boolean ready;
+
+    public ItemSuggestIndex(ItemRepository itemRepository,
+                            @Value("${shareit.suggest.index.enabled:false}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        Names rebuilt = new Names();
+        try {
+            for (ItemSearchDocument document : ReadYourWrites.onPrimary(itemRepository::findAllSearchDocuments)) {
+                rebuilt.put(document.getId(), document.getOwnerId(), document.getName(),
+                        Boolean.TRUE.equals(document.getAvailable()));
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            pending.forEach(change -> change.accept(rebuilt));
+            pending = null;
+            names = rebuilt;
+        }
+        ready = true;
+        log.info("Item suggest index built: {} names", rebuilt.byKey.size());
+    }
+
+    /**
+     * Reflects the current name and availability of the item once the surrounding transaction commits.
+     */
+    public void update(Item item) {
+        if (!enabled) {
+            return;
+        }
+        Long id = item.getId();
+        Long ownerId = item.getOwner() == null ? null : item.getOwner().getId();
+        String name = item.getName();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+        AfterCommit.run(() -> apply(index -> index.put(id, ownerId, name, available)));
+    }
+
+    /**
+     * Drops the items of a deleted user once the surrounding transaction commits.
+     */
+    public void removeOwner(Long ownerId) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> apply(index -> index.removeOwner(ownerId)));
+    }
+
+    public List<String> suggest(String prefix, int size) {
+        String from = normalize(prefix);
+        Set<String> result = new LinkedHashSet<>();
+        for (String name : names.byKey.subMap(from, from + '\uffff').values()) {
+            if (result.size() == size) {
+                break;
+            }
+            result.add(name);
+        }
+        return new ArrayList<>(result);
+    }
+
+    public static String normalize(String text) {
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private synchronized void apply(Consumer<Names> change) {
+        change.accept(names);
+        if (pending != null) {
+            pending.add(change);
+        }
+    }
+
+    private static final class Names {
+        private final ConcurrentSkipListMap<String, String> byKey = new ConcurrentSkipListMap<>();
+        private final Map<Long, String> keyById = new HashMap<>();
+        private final Map<Long, Long> ownerById = new HashMap<>();
+
+        void put(Long id, Long ownerId, String name, boolean available) {
+            remove(id);
+            if (available) {
+                String key = normalize(name) + ID_SEPARATOR + id;
+                byKey.put(key, name);
+                keyById.put(id, key);
+                ownerById.put(id, ownerId);
+            }
+        }
+
+        void removeOwner(Long ownerId) {
+            List<Long> owned = new ArrayList<>();
+            ownerById.forEach((id, owner) -> {
+                if (ownerId.equals(owner)) {
+                    owned.add(id);
+                }
+            });
+            owned.forEach(this::remove);
+        }
+
+        private void remove(Long id) {
+            String old = keyById.remove(id);
+            if (old != null) {
+                byKey.remove(old);
+            }
+            ownerById.remove(id);
+        }
+    }
+}
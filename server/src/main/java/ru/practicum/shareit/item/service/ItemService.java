@@ -12,13 +12,17 @@ public interface ItemService {
 
     ItemDto getItem(Long userId, Long itemId);
 
-    List<ItemDto> getAllItems(Long userId, int from, int size);
+    List<ItemDto> getAllItems(Long userId, int from, int size, String after);
 
     ItemDto updateItem(Long userId, Long itemId, ItemDto itemDto);
 
     Collection<ItemDto> searchItem(String text, int from, int size);
 
+    List<String> suggestItemNames(String prefix, int size);
+
     Item getByIdOrNotFoundError(Long itemId);
 
+    List<ItemDto> getItemsByRequestIds(Collection<Long> requestIds);
+
     CommentDto createComment(Long userId, CommentDto commentDto);
 }
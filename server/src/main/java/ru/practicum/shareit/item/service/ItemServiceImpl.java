@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -8,8 +10,12 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingDtoForItem;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.common.CustomPageRequest;
+import ru.practicum.shareit.common.PageCursor;
+import ru.practicum.shareit.common.RequestScopedLookup;
 import ru.practicum.shareit.handler.exception.BadRequestException;
 import ru.practicum.shareit.handler.exception.NotFoundException;
 import ru.practicum.shareit.handler.exception.OwnerException;
@@ -20,6 +26,9 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.request.feed.ItemRequestFeed;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -27,6 +36,9 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,26 +50,34 @@ public class ItemServiceImpl implements ItemService {
     private final BookingService bookingService;
     private final ItemRepository itemRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSuggestIndex itemSuggestIndex;
+    private final ItemRequestFeed itemRequestFeed;
+    private final RequestScopedLookup requestScopedLookup;
 
     @Override
     @Transactional
     public ItemDto addItem(Long userId, ItemDto itemDto) {
         User user = userService.getByIdOrNotFoundError(userId);
-        Item item = ItemMapper.toItem(itemDto, user);
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item item = itemRepository.save(ItemMapper.toItem(itemDto, user));
+        itemSearchIndex.update(item);
+        itemSuggestIndex.update(item);
+        itemRequestFeed.putItem(ItemMapper.toItemDtoWithoutComments(item));
+        return ItemMapper.toItemDto(item, List.of());
     }
 
     @Override
     public ItemDto getItem(Long userId, Long itemId) {
-        User user = userService.getByIdOrNotFoundError(userId);
+        userService.checkExistsOrNotFoundError(userId);
         Item item = getByIdOrNotFoundError(itemId);
-        ItemDto dto = ItemMapper.toItemDto(item);
+        ItemDto dto = ItemMapper.toItemDto(item, commentRepository.findAllByItem_IdInOrderByIdAsc(List.of(itemId)));
         if (userId.longValue() == item.getOwner().getId().longValue()) {
-            BookingDtoForItem next = bookingService.getNextBooking(item.getId(), LocalDateTime.now())
+            LocalDateTime now = LocalDateTime.now();
+            BookingDtoForItem next = bookingService.getNextBooking(item.getId(), now)
                     .stream()
                     .findFirst()
                     .orElse(null);
-            BookingDtoForItem last = bookingService.getLastBooking(item.getId(), LocalDateTime.now())
+            BookingDtoForItem last = bookingService.getLastBooking(item.getId(), now)
                     .stream()
                     .findFirst()
                     .orElse(null);
@@ -68,33 +88,26 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemDto> getAllItems(Long userId, int from, int size) {
-        Pageable pageable = CustomPageRequest.of(from, size);
-        userService.getByIdOrNotFoundError(userId);
-        List<ItemDto> itemDtoList = itemRepository.findByOwner_IdOrderByIdAsc(userId, pageable)
-                .stream()
-                .map(ItemMapper::toItemDto)
-                .collect(Collectors.toList());
-        itemDtoList.stream().forEach(itemDto -> {
-            BookingDtoForItem next = bookingService.getNextBooking(itemDto.getId(), LocalDateTime.now())
-                    .stream()
-                    .findFirst()
-                    .orElse(null);
-            BookingDtoForItem last =
-                    bookingService.getLastBooking(itemDto.getId(), LocalDateTime.now())
-                            .stream()
-                            .findFirst()
-                            .orElse(null);
-            itemDto.setNextBooking(next);
-            itemDto.setLastBooking(last);
-        });
+    public List<ItemDto> getAllItems(Long userId, int from, int size, String after) {
+        userService.checkExistsOrNotFoundError(userId);
+        List<Item> items;
+        if (after != null) {
+            items = itemRepository.findByOwner_IdAndIdGreaterThanOrderByIdAsc(userId, PageCursor.decode(after).getId(),
+                    PageRequest.of(0, size));
+        } else {
+            items = itemRepository.findByOwner_IdOrderByIdAsc(userId, CustomPageRequest.of(from, size));
+        }
+        List<ItemDto> itemDtoList = toItemDtos(items);
+        setLastAndNextBookings(itemDtoList);
         return itemDtoList;
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = ItemRepository.ITEMS_CACHE, key = "#itemId")
     public ItemDto updateItem(Long userId, Long itemId, ItemDto itemDto) {
-        Item item = getByIdOrNotFoundError(itemId);
+        Item item = itemRepository.findForUpdate(itemId)
+                .orElseThrow(() -> new NotFoundException(String.format("Not found item %d", itemId)));
         if (item.getOwner().getId().longValue() != userId.longValue()) {
             throw new OwnerException(String.format("This user don't owner"));
         }
@@ -107,24 +120,52 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             item.setAvailable(itemDto.getAvailable());
         }
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item saved = itemRepository.save(item);
+        requestScopedLookup.forget(Item.class, itemId);
+        itemSearchIndex.update(saved);
+        itemSuggestIndex.update(saved);
+        itemRequestFeed.putItem(ItemMapper.toItemDtoWithoutComments(saved));
+        return ItemMapper.toItemDto(saved, commentRepository.findAllByItem_IdInOrderByIdAsc(List.of(itemId)));
     }
 
     @Override
     public Collection<ItemDto> searchItem(String text, int from, int size) {
         Pageable pageable = CustomPageRequest.of(from, size);
-        if (text.isEmpty()) {
+        if (text.isEmpty() || text.indexOf(Item.SEARCH_SEPARATOR) >= 0) {
             return new ArrayList<>();
         }
-        return itemRepository
-                .findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(text, text, pageable)
-                .stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
+        if (itemSearchIndex.isReady()) {
+            return toItemDtos(searchIndexed(text, from, size));
+        }
+        return toItemDtos(itemRepository.search(likePattern(text.toLowerCase(Locale.ROOT)), pageable));
+    }
+
+    @Override
+    public List<String> suggestItemNames(String prefix, int size) {
+        if (prefix.isBlank()) {
+            return List.of();
+        }
+        if (itemSuggestIndex.isReady()) {
+            return itemSuggestIndex.suggest(prefix, size);
+        }
+        return itemRepository.suggestNames(likePattern(ItemSuggestIndex.normalize(prefix)), PageRequest.of(0, size));
     }
 
     @Override
     public Item getByIdOrNotFoundError(Long itemId) {
-        return itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException(String.format("Not found item %d", itemId)));
+        return requestScopedLookup.get(Item.class, itemId, () -> itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException(String.format("Not found item %d", itemId))));
+    }
+
+    @Override
+    public List<ItemDto> getItemsByRequestIds(Collection<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return List.of();
+        }
+        return itemRepository.findAllByRequestIdInOrderByIdAsc(requestIds)
+                .stream()
+                .map(ItemMapper::toItemDtoWithoutComments)
+                .collect(Collectors.toList());
     }
 
     @Transactional
@@ -141,4 +182,71 @@ public class ItemServiceImpl implements ItemService {
         Comment comment = CommentMapper.toComment(commentDto, item, user);
         return CommentMapper.toCommentDto(commentRepository.save(comment));
     }
+
+    /**
+     * Maps a page of items with their comments, fetched for the whole page in one query.
+     */
+    private List<ItemDto> toItemDtos(List<Item> items) {
+        Map<Long, List<Comment>> comments = items.isEmpty() ? Map.of() : commentRepository
+                .findAllByItem_IdInOrderByIdAsc(items.stream().map(Item::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        return items
+                .stream()
+                .map(item -> ItemMapper.toItemDto(item, comments.getOrDefault(item.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Hydrates index hits in result order. Hits the database no longer holds as available items are skipped and the
+     * page is refilled from further hits, so it keeps its size.
+     */
+    private List<Item> searchIndexed(String text, int from, int size) {
+        List<Item> page = new ArrayList<>(size);
+        int offset = from;
+        while (page.size() < size) {
+            int wanted = (size - page.size()) * 2;
+            List<Long> ids = itemSearchIndex.search(text, offset, wanted);
+            Map<Long, Item> items = itemRepository.findByIdIn(ids).stream()
+                    .filter(item -> Boolean.TRUE.equals(item.getAvailable()))
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            for (Long id : ids) {
+                Item item = items.get(id);
+                if (item != null && page.size() < size) {
+                    page.add(item);
+                }
+            }
+            if (ids.size() < wanted) {
+                break;
+            }
+            offset += ids.size();
+        }
+        return page;
+    }
+
+    private static String likePattern(String text) {
+        return text
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+    }
+
+    private void setLastAndNextBookings(List<ItemDto> itemDtoList) {
+        if (itemDtoList.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemDto> itemsById = itemDtoList.stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+        for (BookingShort booking : bookingService.getLastAndNextBookings(itemsById.keySet(), now)) {
+            ItemDto itemDto = itemsById.get(booking.getItemId());
+            if (booking.getStart().isAfter(now)) {
+                if (itemDto.getNextBooking() == null) {
+                    itemDto.setNextBooking(BookingMapper.bookingDtoForItem(booking));
+                }
+            } else if (itemDto.getLastBooking() == null) {
+                itemDto.setLastBooking(BookingMapper.bookingDtoForItem(booking));
+            }
+        }
+    }
 }
@@ -1,11 +1,9 @@
 package ru.practicum.shareit.request;
 
 import lombok.*;
-import ru.practicum.shareit.item.model.Item;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
-import java.util.List;
 
 
 @Entity
@@ -26,7 +24,4 @@ public class ItemRequest {
     private LocalDateTime creationTime;
     @Column(name = "description", nullable = false)
     private String description;
-    @OneToMany
-    @JoinColumn(name = "request_id")
-    private List<Item> items;
 }
@@ -2,11 +2,20 @@ package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByUserIdOrderByCreationTimeDesc(Long userId);
 
-    List<ItemRequest> findAllByUserIdIsNotOrderByCreationTimeDesc(Long userId, Pageable pageable);
+    List<ItemRequest> findAllByUserIdIsNotOrderByCreationTimeDescRequestIdDesc(Long userId, Pageable pageable);
+
+    List<ItemRequest> findAllByOrderByCreationTimeDescRequestIdDesc(Pageable pageable);
+
+    @Query("select r from ItemRequest r where r.userId <> :userId and (r.creationTime < :created " +
+            "or (r.creationTime = :created and r.requestId < :requestId)) " +
+            "order by r.creationTime desc, r.requestId desc")
+    List<ItemRequest> findPageAfter(Long userId, LocalDateTime created, Long requestId, Pageable pageable);
 }
@@ -0,0 +1,277 @@
+package ru.practicum.shareit.request.feed;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.AfterCommit;
+import ru.practicum.shareit.common.PageCursor;
+import ru.practicum.shareit.datasource.ReadYourWrites;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * The most recent item requests with their responding items, newest first, kept in memory so pages of
+ * {@code /requests/all} are served without touching the database. Requests and items are added once their transaction
+ * commits; when the feed grows past {@code shareit.requests.feed.capacity} the oldest request falls off, and a page
+ * reaching past the oldest held request is left to the database. Enabled with
+ * {@code shareit.requests.feed.enabled=true}.
+ * <p>
+ * A rebuild loads into a fresh feed while the current one keeps serving; changes committed meanwhile are queued and
+ * replayed onto the fresh feed before it replaces the current one, so none is lost.
+ */
+@Component
+@Slf4j
+public class ItemRequestFeed {
+    private static final Comparator<FeedKey> NEWEST_FIRST = Comparator
+            .comparing((FeedKey key) -> key.created).reversed()
+            .thenComparing(Comparator.comparing((FeedKey key) -> key.requestId).reversed());
+
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final int capacity;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Requests current = new Requests();
+    private List<Consumer<Requests>> pending;
+    private volatile boolean ready;
+
+    public ItemRequestFeed(ItemRequestRepository itemRequestRepository, ItemRepository itemRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${shareit.requests.feed.enabled:false}") boolean enabled,
+                           @Value("${shareit.requests.feed.capacity:1000}") int capacity) {
+        this.itemRequestRepository = itemRequestRepository;
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        if (enabled) {
+            Gauge.builder("shareit.requests.feed.size", this, ItemRequestFeed::size)
+                    .description("Item requests held by the in-memory requests feed")
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        write(() -> pending = new ArrayList<>());
+        Requests rebuilt = new Requests();
+        List<ItemRequest> recent;
+        try {
+            recent = ReadYourWrites.onPrimary(() -> itemRequestRepository
+                    .findAllByOrderByCreationTimeDescRequestIdDesc(PageRequest.of(0, capacity)));
+            Map<Long, List<ItemDto>> items = recent.isEmpty() ? Map.of() : ReadYourWrites.onPrimary(() ->
+                            itemRepository.findAllByRequestIdInOrderByIdAsc(recent.stream()
+                                    .map(ItemRequest::getRequestId)
+                                    .collect(Collectors.toList())))
+                    .stream()
+                    .map(ItemMapper::toItemDtoWithoutComments)
+                    .collect(Collectors.groupingBy(ItemDto::getRequestId));
+            for (ItemRequest request : recent) {
+                rebuilt.putRequest(request).items.addAll(items.getOrDefault(request.getRequestId(), List.of()));
+            }
+            rebuilt.truncated = recent.size() == capacity;
+        } catch (RuntimeException e) {
+            write(() -> pending = null);
+            throw e;
+        }
+        write(() -> {
+            pending.forEach(change -> change.accept(rebuilt));
+            pending = null;
+            current = rebuilt;
+        });
+        ready = true;
+        log.info("Item requests feed built: {} requests", recent.size());
+    }
+
+    /**
+     * Adds the request to the head of the feed once the surrounding transaction commits.
+     */
+    public void addRequest(ItemRequest request) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> apply(feed -> {
+            feed.putRequest(request);
+            feed.trim(capacity);
+        }));
+    }
+
+    /**
+     * Adds or replaces a responding item of a held request once the surrounding transaction commits.
+     */
+    public void putItem(ItemDto item) {
+        if (!enabled || item.getRequestId() == null) {
+            return;
+        }
+        AfterCommit.run(() -> apply(feed -> feed.putItem(item)));
+    }
+
+    /**
+     * Drops the requests and responding items of a deleted user once the surrounding transaction commits.
+     */
+    public void removeUser(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> apply(feed -> feed.removeUser(userId)));
+    }
+
+    /**
+     * A page of requests of other users, or {@code null} when the page reaches past the oldest held request.
+     */
+    @Nullable
+    public List<ItemRequestDto> page(Long userId, int from, int size, @Nullable PageCursor after) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<FeedKey, Entry> tail = after == null ? current.requests
+                    : current.requests.tailMap(new FeedKey(after.requireSortKey(), after.getId()), false);
+            int skip = after == null ? from : 0;
+            List<ItemRequestDto> page = new ArrayList<>(size);
+            for (Entry entry : tail.values()) {
+                if (page.size() == size) {
+                    break;
+                }
+                if (entry.userId.equals(userId)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                page.add(entry.toDto());
+            }
+            if (page.size() < size && current.truncated) {
+                return null;
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return current.requests.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a change to the current feed and, while a rebuild is loading, queues it for the rebuilt one.
+     */
+    private void apply(Consumer<Requests> change) {
+        write(() -> {
+            change.accept(current);
+            if (pending != null) {
+                pending.add(change);
+            }
+        });
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static class Requests {
+        private final NavigableMap<FeedKey, Entry> requests = new TreeMap<>(NEWEST_FIRST);
+        private final Map<Long, FeedKey> keyById = new HashMap<>();
+        private boolean truncated;
+
+        Entry putRequest(ItemRequest request) {
+            FeedKey key = new FeedKey(request.getCreationTime(), request.getRequestId());
+            FeedKey old = keyById.put(request.getRequestId(), key);
+            Entry entry = old == null ? null : requests.remove(old);
+            Entry put = new Entry(request, entry == null ? new ArrayList<>() : entry.items);
+            requests.put(key, put);
+            return put;
+        }
+
+        void putItem(ItemDto item) {
+            FeedKey key = keyById.get(item.getRequestId());
+            if (key != null) {
+                List<ItemDto> items = requests.get(key).items;
+                items.removeIf(existing -> existing.getId() == item.getId());
+                items.add(item);
+                items.sort(Comparator.comparingLong(ItemDto::getId));
+            }
+        }
+
+        void removeUser(Long userId) {
+            requests.values().removeIf(entry -> entry.userId.equals(userId));
+            keyById.values().removeIf(key -> !requests.containsKey(key));
+            requests.values().forEach(entry -> entry.items.removeIf(item -> userId.equals(item.getOwner())));
+        }
+
+        void trim(int capacity) {
+            while (requests.size() > capacity) {
+                Entry oldest = requests.pollLastEntry().getValue();
+                keyById.remove(oldest.request.getRequestId());
+                truncated = true;
+            }
+        }
+    }
+
+    private static class FeedKey {
+        private final LocalDateTime created;
+        private final Long requestId;
+
+        FeedKey(LocalDateTime created, Long requestId) {
+            this.created = created;
+            this.requestId = requestId;
+        }
+    }
+
+    private static class Entry {
+        private final ItemRequest request;
+        private final Long userId;
+        private final List<ItemDto> items;
+
+        Entry(ItemRequest request, List<ItemDto> items) {
+            this.request = request;
+            this.userId = request.getUserId();
+            this.items = items;
+        }
+
+        ItemRequestDto toDto() {
+            return ItemRequestMapper.toItemRequestDto(request, List.copyOf(items));
+        }
+    }
+}
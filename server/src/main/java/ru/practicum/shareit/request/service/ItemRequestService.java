@@ -9,7 +9,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getItemRequestsByUserId(Long userId);
 
-    List<ItemRequestDto> getAllRequests(Long userId, int from, int size);
+    List<ItemRequestDto> getAllRequests(Long userId, int from, int size, String after);
 
     ItemRequestDto getRequestById(Long requestId, Long userId);
 }
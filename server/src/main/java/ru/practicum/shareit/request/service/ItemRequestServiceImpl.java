@@ -1,54 +1,113 @@
 package ru.practicum.shareit.request.service;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.common.CustomPageRequest;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.handler.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.feed.ItemRequestFeed;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserService userService;
+    private final ItemService itemService;
+    private final ItemRequestFeed itemRequestFeed;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ItemRequestServiceImpl(ItemRequestRepository itemRequestRepository, UserService userService,
+                                  ItemService itemService, ItemRequestFeed itemRequestFeed,
+                                  PlatformTransactionManager transactionManager) {
+        this.itemRequestRepository = itemRequestRepository;
+        this.userService = userService;
+        this.itemService = itemService;
+        this.itemRequestFeed = itemRequestFeed;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
     @Override
+    @Transactional
     public ItemRequestDto createRequest(ItemRequestDto itemRequestDto, Long userId) {
         User user = userService.getByIdOrNotFoundError(userId);
-        ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestDto, user);
-
-        return ItemRequestMapper.toItemRequestDto(itemRequestRepository.save(itemRequest));
+        ItemRequest itemRequest = itemRequestRepository.save(ItemRequestMapper.toItemRequest(itemRequestDto, user));
+        itemRequestFeed.addRequest(itemRequest);
+        return ItemRequestMapper.toItemRequestDto(itemRequest);
     }
 
     @Override
     public List<ItemRequestDto> getItemRequestsByUserId(Long userId) {
-        userService.getByIdOrNotFoundError(userId);
+        userService.checkExistsOrNotFoundError(userId);
         List<ItemRequest> itemRequests = itemRequestRepository.findAllByUserIdOrderByCreationTimeDesc(userId);
-        return itemRequests.stream().map(ItemRequestMapper::toItemRequestDto).collect(Collectors.toList());
+        return toItemRequestDtos(itemRequests);
     }
 
+    /**
+     * Pages served by the feed never touch the database, so no transaction or connection is opened for them; only the
+     * database fallback runs in a read-only transaction.
+     */
     @Override
-    public List<ItemRequestDto> getAllRequests(Long userId, int from, int size) {
-        Pageable pageable = CustomPageRequest.of(from, size);
-        List<ItemRequest> itemRequests =
-                itemRequestRepository.findAllByUserIdIsNotOrderByCreationTimeDesc(userId, pageable);
-        return itemRequests.stream().map(ItemRequestMapper::toItemRequestDto).collect(Collectors.toList());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ItemRequestDto> getAllRequests(Long userId, int from, int size, String after) {
+        PageCursor cursor = after == null ? null : PageCursor.decode(after);
+        if (itemRequestFeed.isReady()) {
+            List<ItemRequestDto> page = itemRequestFeed.page(userId, from, size, cursor);
+            if (page != null) {
+                return page;
+            }
+        }
+        return readOnlyTransaction.execute(status -> {
+            List<ItemRequest> itemRequests;
+            if (cursor != null) {
+                itemRequests = itemRequestRepository.findPageAfter(userId, cursor.requireSortKey(), cursor.getId(),
+                        PageRequest.of(0, size));
+            } else {
+                Pageable pageable = CustomPageRequest.of(from, size);
+                itemRequests = itemRequestRepository.findAllByUserIdIsNotOrderByCreationTimeDescRequestIdDesc(userId,
+                        pageable);
+            }
+            return toItemRequestDtos(itemRequests);
+        });
     }
 
     @Override
     public ItemRequestDto getRequestById(Long requestId, Long userId) {
-        userService.getByIdOrNotFoundError(userId);
+        userService.checkExistsOrNotFoundError(userId);
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException(String.format("Not exists itemRequest %d ",requestId)));
-        return ItemRequestMapper.toItemRequestDto(itemRequest);
+        return ItemRequestMapper.toItemRequestDto(itemRequest, itemService.getItemsByRequestIds(List.of(requestId)));
+    }
+
+    /**
+     * Responding items of the whole page come from one query and are grouped by request id in memory.
+     */
+    private List<ItemRequestDto> toItemRequestDtos(List<ItemRequest> itemRequests) {
+        Map<Long, List<ItemDto>> items = itemService.getItemsByRequestIds(itemRequests.stream()
+                        .map(ItemRequest::getRequestId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+        return itemRequests.stream()
+                .map(request -> ItemRequestMapper.toItemRequestDto(request,
+                        items.getOrDefault(request.getRequestId(), List.of())))
+                .collect(Collectors.toList());
     }
 }
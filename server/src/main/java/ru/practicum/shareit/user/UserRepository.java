@@ -1,6 +1,23 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.shareit.datasource.ReplicaRoutingDataSource;
+
+import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    String USERS_CACHE = "users";
+    String USER_EXISTS_CACHE = "userExists";
+
+    /**
+     * Cached by id, unless read from the replica, which may lag behind the primary.
+     */
+    @Override
+    @Cacheable(cacheNames = USERS_CACHE, unless = "#result == null || " + ReplicaRoutingDataSource.REPLICA_READ)
+    Optional<User> findById(Long id);
+
+    @Override
+    @Cacheable(cacheNames = USER_EXISTS_CACHE, unless = "!#result || " + ReplicaRoutingDataSource.REPLICA_READ)
+    boolean existsById(Long id);
 }
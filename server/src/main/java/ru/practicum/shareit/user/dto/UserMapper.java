@@ -18,4 +18,12 @@ public class UserMapper {
                 .email(userDto.getEmail())
                 .build();
     }
+
+    public static User copy(User user) {
+        return User.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .build();
+    }
 }
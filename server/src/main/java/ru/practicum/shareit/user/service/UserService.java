@@ -17,4 +17,9 @@ public interface UserService {
     void deleteUserById(Long userId);
 
     User getByIdOrNotFoundError(Long userId);
+
+    /**
+     * Validates the user id without loading the user.
+     */
+    void checkExistsOrNotFoundError(Long userId);
 }
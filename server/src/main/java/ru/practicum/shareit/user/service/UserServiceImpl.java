@@ -1,9 +1,17 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.RequestScopedLookup;
 import ru.practicum.shareit.handler.exception.BadRequestException;
 import ru.practicum.shareit.handler.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.request.feed.ItemRequestFeed;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -15,8 +23,13 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final RequestScopedLookup requestScopedLookup;
+    private final ItemRequestFeed itemRequestFeed;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSuggestIndex itemSuggestIndex;
 
     @Override
     public UserDto getUser(Long userId) {
@@ -33,12 +46,18 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserDto createUser(UserDto userDto) {
         User user = UserMapper.toUser(userDto);
         return UserMapper.toUserDto(userRepository.save(user));
     }
 
     @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = UserRepository.USERS_CACHE, key = "#userId"),
+            @CacheEvict(cacheNames = ItemRepository.ITEMS_CACHE, allEntries = true)
+    })
     public UserDto updateUser(Long userId, UserDto userDto) {
         User userDB = new User();
         if (userRepository.existsById(userId)) {
@@ -53,18 +72,35 @@ public class UserServiceImpl implements UserService {
         if (userDto.getEmail() != null) {
             userDB.setEmail(userDto.getEmail());
         }
+        requestScopedLookup.forget(User.class, userId);
         return UserMapper.toUserDto(userRepository.save(userDB));
     }
 
     @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = {UserRepository.USERS_CACHE, UserRepository.USER_EXISTS_CACHE}, key = "#userId"),
+            @CacheEvict(cacheNames = ItemRepository.ITEMS_CACHE, allEntries = true)
+    })
     public void deleteUserById(Long userId) {
+        requestScopedLookup.forget(User.class, userId);
         userRepository.deleteById(userId);
+        itemRequestFeed.removeUser(userId);
+        itemSearchIndex.removeOwner(userId);
+        itemSuggestIndex.removeOwner(userId);
     }
 
     @Override
     public User getByIdOrNotFoundError(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format("Not found user, id: %d ", userId)));
+        return requestScopedLookup.get(User.class, userId, () -> userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException(String.format("Not found user, id: %d ", userId))));
+    }
+
+    @Override
+    public void checkExistsOrNotFoundError(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(String.format("Not found user, id: %d ", userId));
+        }
     }
 
 }
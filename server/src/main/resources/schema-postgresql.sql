@@ -0,0 +1,4 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_search_text_trgm ON items USING GIN (search_text gin_trgm_ops)
+WHERE available;
@@ -26,6 +26,7 @@ CREATE TABLE IF NOT EXISTS items
     available BOOLEAN NOT NULL,
     request_id BIGINT,
     owner_id BIGINT REFERENCES users (user_id) ON DELETE CASCADE NOT NULL,
+    search_text VARCHAR(802),
     CONSTRAINT pk_item PRIMARY KEY (item_id),
     CONSTRAINT fk_request FOREIGN KEY (request_id)
     REFERENCES requests (request_id)
@@ -38,6 +39,7 @@ CREATE TABLE IF NOT EXISTS bookings
     end_booking   TIMESTAMP                                           NOT NULL,
     booker_id BIGINT REFERENCES users (user_id) ON DELETE CASCADE NOT NULL,
     item_id BIGINT REFERENCES items (item_id) ON DELETE CASCADE NOT NULL,
+    owner_id BIGINT REFERENCES users (user_id) ON DELETE CASCADE NOT NULL,
     status VARCHAR(20),
     CONSTRAINT pk_booking PRIMARY KEY (booking_id)
 );
@@ -56,3 +58,39 @@ CREATE TABLE IF NOT EXISTS comments
     REFERENCES items (item_id)
 );
 
+
+CREATE TABLE IF NOT EXISTS schema_migrations
+(
+    name VARCHAR(100) NOT NULL,
+    CONSTRAINT pk_schema_migrations PRIMARY KEY (name)
+);
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT REFERENCES users (user_id) ON DELETE CASCADE;
+UPDATE bookings SET owner_id = (SELECT i.owner_id FROM items i WHERE i.item_id = bookings.item_id)
+WHERE owner_id IS NULL
+  AND NOT EXISTS (SELECT 1 FROM schema_migrations WHERE name = 'bookings_owner_id');
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+INSERT INTO schema_migrations (name)
+SELECT 'bookings_owner_id' WHERE NOT EXISTS (SELECT 1 FROM schema_migrations WHERE name = 'bookings_owner_id');
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_text VARCHAR(802);
+ALTER TABLE items ALTER COLUMN search_text SET DATA TYPE VARCHAR(802);
+UPDATE items SET search_text = LOWER(item_name || CHR(31) || COALESCE(description, ''))
+WHERE NOT EXISTS (SELECT 1 FROM schema_migrations WHERE name = 'items_search_text');
+INSERT INTO schema_migrations (name)
+SELECT 'items_search_text' WHERE NOT EXISTS (SELECT 1 FROM schema_migrations WHERE name = 'items_search_text');
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_end ON bookings (booker_id, end_booking DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_booking DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_booking DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_end ON bookings (owner_id, end_booking DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_start ON bookings (owner_id, start_booking DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_status_start ON bookings (owner_id, status, start_booking DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_booking);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_end ON bookings (item_id, status, end_booking);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_booker_status_end ON bookings (item_id, booker_id, status, end_booking);
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, item_id);
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created DESC, request_id DESC);
+CREATE INDEX IF NOT EXISTS idx_requests_user_created ON requests (user_id, created DESC);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
@@ -0,0 +1,34 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class SchemaMigrationTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    DataSource dataSource;
+
+    @Test
+    void schema_whenAppliedAgain_thenMigrationsRecordedOnce() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+        assertEquals(List.of("bookings_owner_id", "items_search_text"),
+                jdbcTemplate.queryForList("select name from schema_migrations order by name", String.class));
+        assertEquals("NO", jdbcTemplate.queryForObject("select is_nullable from information_schema.columns " +
+                "where lower(table_name) = 'bookings' and lower(column_name) = 'owner_id'", String.class));
+        assertEquals(802, jdbcTemplate.queryForObject("select character_maximum_length " +
+                "from information_schema.columns " +
+                "where lower(table_name) = 'items' and lower(column_name) = 'search_text'", Integer.class));
+    }
+}
@@ -84,7 +84,7 @@ class BookingControllerTest {
                 .start(bookingDtoNew.getStart())
                 .end(bookingDtoNew.getEnd())
                 .booker(UserMapper.toUserDto(booker))
-                .item(ItemMapper.toItemDto(item))
+                .item(ItemMapper.toItemDtoWithoutComments(item))
                 .build();
         when(bookingService.create(any(), any())).thenReturn(bookingDtoInfo);
 
@@ -108,7 +108,7 @@ class BookingControllerTest {
                 .start(bookingDtoNew.getStart())
                 .end(bookingDtoNew.getEnd())
                 .booker(UserMapper.toUserDto(booker))
-                .item(ItemMapper.toItemDto(item))
+                .item(ItemMapper.toItemDtoWithoutComments(item))
                 .build();
         when(bookingService.approve(any(), any(), any())).thenReturn(bookingDtoInfo);
 
@@ -132,7 +132,7 @@ class BookingControllerTest {
                 .start(bookingDtoNew.getStart())
                 .end(bookingDtoNew.getEnd())
                 .booker(UserMapper.toUserDto(booker))
-                .item(ItemMapper.toItemDto(item))
+                .item(ItemMapper.toItemDtoWithoutComments(item))
                 .build();
         when(bookingService.getBookingById(any(), any())).thenReturn(bookingDtoInfo);
 
@@ -152,9 +152,9 @@ class BookingControllerTest {
                 .start(bookingDtoNew.getStart())
                 .end(bookingDtoNew.getEnd())
                 .booker(UserMapper.toUserDto(booker))
-                .item(ItemMapper.toItemDto(item))
+                .item(ItemMapper.toItemDtoWithoutComments(item))
                 .build();
-        when(bookingService.getAllBookingsByUserId(any(), any(), anyInt(), anyInt()))
+        when(bookingService.getAllBookingsByUserId(any(), any(), anyInt(), anyInt(), any()))
                 .thenReturn(List.of(bookingDtoInfo));
 
         mockMvc.perform(get("/bookings")
@@ -176,9 +176,9 @@ class BookingControllerTest {
                 .start(bookingDtoNew.getStart())
                 .end(bookingDtoNew.getEnd())
                 .booker(UserMapper.toUserDto(booker))
-                .item(ItemMapper.toItemDto(item))
+                .item(ItemMapper.toItemDtoWithoutComments(item))
                 .build();
-        when(bookingService.getAllBookingsByUserId(any(), any(), anyInt(), anyInt()))
+        when(bookingService.getAllBookingsByUserId(any(), any(), anyInt(), anyInt(), any()))
                 .thenThrow(IllegalArgumentExceptionCustom.class);
 
         mockMvc.perform(get("/bookings")
@@ -200,9 +200,9 @@ class BookingControllerTest {
                 .start(bookingDtoNew.getStart())
                 .end(bookingDtoNew.getEnd())
                 .booker(UserMapper.toUserDto(booker))
-                .item(ItemMapper.toItemDto(item))
+                .item(ItemMapper.toItemDtoWithoutComments(item))
                 .build();
-        when(bookingService.getAllBookingsByOwnerId(any(), any(), anyInt(), anyInt()))
+        when(bookingService.getAllBookingsByOwnerId(any(), any(), anyInt(), anyInt(), any()))
                 .thenReturn(List.of(bookingDtoInfo));
 
         mockMvc.perform(get("/bookings/owner")
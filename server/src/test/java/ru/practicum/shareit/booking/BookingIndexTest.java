@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingIndexTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    long bookerId;
+    long ownerId;
+    long itemId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into users (name, email) values ('Booker', 'booker@index.test')");
+        jdbcTemplate.update("insert into users (name, email) values ('Owner', 'owner@index.test')");
+        bookerId = jdbcTemplate.queryForObject("select user_id from users where email = 'booker@index.test'",
+                Long.class);
+        ownerId = jdbcTemplate.queryForObject("select user_id from users where email = 'owner@index.test'",
+                Long.class);
+        jdbcTemplate.update("insert into items (item_name, description, available, owner_id) " +
+                "values ('Drill', 'Drill', true, ?)", ownerId);
+        itemId = jdbcTemplate.queryForObject("select item_id from items where owner_id = ?", Long.class, ownerId);
+        jdbcTemplate.update("insert into bookings " +
+                "(start_booking, end_booking, booker_id, item_id, owner_id, status) " +
+                "select dateadd('DAY', x, now()), dateadd('DAY', x + 1, now()), " +
+                "case when mod(x, 2) = 0 then ? else ? end, ?, ?, " +
+                "case when mod(x, 3) = 0 then 'WAITING' else 'APPROVED' end " +
+                "from system_range(-500, 500)", bookerId, ownerId, itemId, ownerId);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void bookerStateQueries_whenExplained_thenUseBookerIndexes() {
+        assertPlanUses("select * from bookings where booker_id = " + bookerId + " and start_booking <= now() " +
+                "and end_booking > now() order by end_booking desc", "IDX_BOOKINGS_BOOKER_");
+        assertPlanUses("select * from bookings where booker_id = " + bookerId + " and end_booking < now() " +
+                "order by start_booking desc", "IDX_BOOKINGS_BOOKER_END");
+        assertPlanUses("select * from bookings where booker_id = " + bookerId + " and start_booking > now() " +
+                "order by end_booking desc", "IDX_BOOKINGS_BOOKER_START");
+        assertPlanUses("select * from bookings where booker_id = " + bookerId + " and status = 'WAITING' " +
+                "order by start_booking desc", "IDX_BOOKINGS_BOOKER_STATUS_START");
+    }
+
+    @Test
+    void itemQueries_whenExplained_thenUseItemIndexes() {
+        assertPlanUses("select * from bookings where item_id = " + itemId + " and status = 'APPROVED' " +
+                "and start_booking > now() order by start_booking", "IDX_BOOKINGS_ITEM_STATUS_START");
+        assertPlanUses("select * from bookings where item_id = " + itemId + " and status = 'APPROVED' " +
+                "and end_booking < now() order by end_booking desc", "IDX_BOOKINGS_ITEM_STATUS_END");
+        assertPlanUses("select * from bookings where item_id = " + itemId + " and booker_id = " + bookerId +
+                " and status = 'APPROVED' and end_booking < now()", "IDX_BOOKINGS_ITEM_BOOKER_STATUS_END");
+    }
+
+    @Test
+    void ownerStateQueries_whenExplained_thenUseOwnerIndexes() {
+        assertPlanUses("select * from bookings where owner_id = " + ownerId + " and start_booking <= now() " +
+                "and end_booking > now() order by end_booking desc", "IDX_BOOKINGS_OWNER_");
+        assertPlanUses("select * from bookings where owner_id = " + ownerId + " and end_booking < now() " +
+                "order by start_booking desc", "IDX_BOOKINGS_OWNER_END");
+        assertPlanUses("select * from bookings where owner_id = " + ownerId + " and start_booking > now() " +
+                "order by end_booking desc", "IDX_BOOKINGS_OWNER_START");
+        assertPlanUses("select * from bookings where owner_id = " + ownerId + " and status = 'WAITING' " +
+                "order by start_booking desc", "IDX_BOOKINGS_OWNER_STATUS_START");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from bookings where item_id = ?", itemId);
+        jdbcTemplate.update("delete from items where item_id = ?", itemId);
+        jdbcTemplate.update("delete from users where user_id in (?, ?)", bookerId, ownerId);
+    }
+
+    private void assertPlanUses(String sql, String index) {
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+        assertTrue(plan.contains(index), plan);
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+
+import javax.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares heap allocated per page of 500 bookings between hydrating entities with fetch joins and the flat
+ * constructor projection used by the listing endpoints.
+ * <p>
+ * Allocation counts depend on the JVM and JIT state, so this is not part of the test suite (surefire only picks up
+ * {@code *Test} classes). Run it on demand with
+ * {@code mvn -pl server test -Dtest=BookingProjectionAllocationBenchmark}; the measured sizes are published as
+ * report entries.
+ */
+@DataJpaTest
+class BookingProjectionAllocationBenchmark {
+    private static final int PAGE_SIZE = 500;
+    private static final int WARMUP = 5;
+    private static final int RUNS = 10;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    BookingRepository bookingRepository;
+
+    long bookerId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into users (name, email) values ('Booker', 'booker@allocation.test')");
+        jdbcTemplate.update("insert into users (name, email) values ('Owner', 'owner@allocation.test')");
+        bookerId = jdbcTemplate.queryForObject("select user_id from users where email = 'booker@allocation.test'",
+                Long.class);
+        long ownerId = jdbcTemplate.queryForObject("select user_id from users where email = 'owner@allocation.test'",
+                Long.class);
+        jdbcTemplate.update("insert into items (item_name, description, available, owner_id) " +
+                "select concat('Item', x), concat('Description', x), true, ? from system_range(1, 50)", ownerId);
+        jdbcTemplate.update("insert into bookings " +
+                "(start_booking, end_booking, booker_id, item_id, owner_id, status) " +
+                "select dateadd('DAY', -x - 1, now()), dateadd('DAY', -x, now()), ?, " +
+                "(select min(item_id) from items where owner_id = ?) + mod(x, 50), ?, 'APPROVED' " +
+                "from system_range(1, ?)", bookerId, ownerId, ownerId, PAGE_SIZE);
+    }
+
+    @Test
+    void findBookings_whenProjected_thenAllocateLessThanEntities(TestReporter reporter) {
+        Supplier<List<BookingDtoInfo>> entities = () -> {
+            List<BookingDtoInfo> page = entityManager.createQuery("select b from bookings b " +
+                            "join fetch b.item i join fetch i.owner join fetch b.booker " +
+                            "where b.booker.id = :userId order by b.end desc, b.id desc", Booking.class)
+                    .setParameter("userId", bookerId)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList()
+                    .stream()
+                    .map(BookingMapper::toBookingDtoInfo)
+                    .collect(Collectors.toList());
+            entityManager.clear();
+            return page;
+        };
+        Supplier<List<BookingDtoInfo>> projection = () -> bookingRepository.findBookings(BookingRole.BOOKER,
+                        bookerId, BookingStatus.ALL, LocalDateTime.now(), null, 0, PAGE_SIZE)
+                .stream()
+                .map(BookingMapper::toBookingDtoInfo)
+                .collect(Collectors.toList());
+
+        long entityBytes = allocatedPerPage(entities);
+        long projectionBytes = allocatedPerPage(projection);
+
+        reporter.publishEntry("entityBytes", String.valueOf(entityBytes));
+        reporter.publishEntry("projectionBytes", String.valueOf(projectionBytes));
+        assertTrue(projectionBytes < entityBytes,
+                String.format("projection %d bytes, entities %d bytes", projectionBytes, entityBytes));
+    }
+
+    private static long allocatedPerPage(Supplier<List<BookingDtoInfo>> page) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP; i++) {
+            assertEquals(PAGE_SIZE, page.get().size());
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            page.get();
+            best = Math.min(best, threads.getThreadAllocatedBytes(threadId) - before);
+        }
+        return best;
+    }
+}
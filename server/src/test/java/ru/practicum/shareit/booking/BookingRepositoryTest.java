@@ -1,23 +1,40 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import ru.practicum.shareit.common.CustomPageRequest;
+import ru.practicum.shareit.booking.dto.BookingDtoForItem;
+import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.common.PageCursor;
+import ru.practicum.shareit.item.CommentRepository;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "ru.practicum.shareit.booking.BookingRepositoryTest$SqlRecorder"})
 class BookingRepositoryTest {
     @Autowired
     BookingRepository bookingRepository;
@@ -25,6 +42,10 @@ class BookingRepositoryTest {
     ItemRepository itemRepository;
     @Autowired
     UserRepository userRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    TestEntityManager entityManager;
 
     User user;
     User owner;
@@ -57,12 +78,13 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByBooker_IdOrderByEndDesc() {
+    void findBookings_whenBookerAll_thenOrderByEndDesc() {
         Booking booking = Booking.builder()
                 .booker(user)
                 .start(LocalDateTime.now().minusDays(2))
-                .end(LocalDateTime.now().minusDays(1))
+                .end(LocalDateTime.now().minusDays(1).withNano(0))
                 .item(item)
+                .ownerId(owner.getId())
                 .build();
         bookingRepository.save(booking);
         Booking booking2 = Booking.builder()
@@ -70,10 +92,11 @@ class BookingRepositoryTest {
                 .start(LocalDateTime.now().minusDays(5))
                 .end(LocalDateTime.now().minusDays(4))
                 .item(item)
+                .ownerId(owner.getId())
                 .build();
         bookingRepository.save(booking2);
-        List<Booking> bookingList = bookingRepository.findByBooker_IdOrderByEndDesc(user.getId(),
-                CustomPageRequest.of(0, 10));
+        List<BookingRow> bookingList = bookingRepository.findBookings(BookingRole.BOOKER, user.getId(),
+                BookingStatus.ALL, LocalDateTime.now(), null, 0, 10);
 
         assertNotNull(bookingList);
         assertEquals(booking.getEnd(), bookingList.stream().findFirst().get().getEnd());
@@ -81,12 +104,100 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByBooker_IdAndStartLessThanEqualAndEndGreaterThanOrderByEndDesc() {
+    void findBookings_whenProjected_thenRowCarriesBookingBookerAndItem() {
+        Booking booking = bookingRepository.save(Booking.builder()
+                .booker(user)
+                .start(LocalDateTime.now().minusDays(2).withNano(0))
+                .end(LocalDateTime.now().minusDays(1).withNano(0))
+                .item(item)
+                .ownerId(owner.getId())
+                .status(BookingStatus.APPROVED)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingRow> rows = bookingRepository.findBookings(BookingRole.BOOKER, user.getId(),
+                BookingStatus.ALL, LocalDateTime.now(), null, 0, 10);
+
+        assertEquals(1, rows.size());
+        BookingRow row = rows.get(0);
+        assertEquals(booking.getId(), row.getId());
+        assertEquals(booking.getStart(), row.getStart());
+        assertEquals(booking.getEnd(), row.getEnd());
+        assertEquals(BookingStatus.APPROVED, row.getStatus());
+        assertEquals(user.getId(), row.getBookerId());
+        assertEquals("Barak", row.getBookerName());
+        assertEquals("barak@mail.test", row.getBookerEmail());
+        assertEquals(item.getId(), row.getItemId());
+        assertEquals("Book", row.getItemName());
+        assertEquals("Java and JavaScript", row.getItemDescription());
+        assertTrue(row.getItemAvailable());
+        assertEquals(owner.getId(), row.getItemOwnerId());
+        assertNull(row.getItemRequestId());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findBookings_whenCursorGiven_thenSeekPastItWithIdTieBreak() {
+        LocalDateTime end = LocalDateTime.now().minusDays(1).withNano(0);
+        Booking first = bookingRepository.save(Booking.builder()
+                .booker(user)
+                .start(end.minusDays(1))
+                .end(end)
+                .item(item)
+                .ownerId(owner.getId())
+                .build());
+        Booking second = bookingRepository.save(Booking.builder()
+                .booker(user)
+                .start(end.minusDays(2))
+                .end(end)
+                .item(item)
+                .ownerId(owner.getId())
+                .build());
+        Booking third = bookingRepository.save(Booking.builder()
+                .booker(user)
+                .start(end.minusDays(5))
+                .end(end.minusDays(4))
+                .item(item)
+                .ownerId(owner.getId())
+                .build());
+
+        List<BookingRow> bookerPage = bookingRepository.findBookings(BookingRole.BOOKER, user.getId(),
+                BookingStatus.ALL, LocalDateTime.now(), PageCursor.of(end, second.getId()), 0, 10);
+        List<BookingRow> ownerPage = bookingRepository.findBookings(BookingRole.OWNER, owner.getId(),
+                BookingStatus.PAST, LocalDateTime.now(), PageCursor.of(first.getStart(), first.getId()), 0, 1);
+
+        assertEquals(List.of(first.getId(), third.getId()),
+                bookerPage.stream().map(BookingRow::getId).collect(Collectors.toList()));
+        assertEquals(List.of(second.getId()), ownerPage.stream().map(BookingRow::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void findBookings_whenOtherUserAndClock_thenSameStatementPerState() {
+        for (BookingStatus state : List.of(BookingStatus.ALL, BookingStatus.CURRENT, BookingStatus.PAST,
+                BookingStatus.FUTURE, BookingStatus.WAITING, BookingStatus.REJECTED)) {
+            SqlRecorder.STATEMENTS.clear();
+
+            bookingRepository.findBookings(BookingRole.OWNER, user.getId(), state, LocalDateTime.now(), null, 0, 10);
+            bookingRepository.findBookings(BookingRole.OWNER, owner.getId(), state,
+                    LocalDateTime.now().plusDays(1), null, 0, 10);
+
+            assertEquals(2, SqlRecorder.STATEMENTS.size(), state.name());
+            assertEquals(SqlRecorder.STATEMENTS.get(0), SqlRecorder.STATEMENTS.get(1), state.name());
+        }
+    }
+
+    @Test
+    void findBookings_whenBookerCurrent_thenReturnCurrent() {
         Booking booking = Booking.builder()
                 .booker(user)
                 .start(LocalDateTime.now().minusDays(2))
                 .end(LocalDateTime.now().plusDays(1))
                 .item(item)
+                .ownerId(owner.getId())
                 .build();
         bookingRepository.save(booking);
         Booking booking2 = Booking.builder()
@@ -94,12 +205,13 @@ class BookingRepositoryTest {
                 .start(LocalDateTime.now().minusDays(5))
                 .end(LocalDateTime.now().minusDays(4))
                 .item(item)
+                .ownerId(owner.getId())
                 .build();
         bookingRepository.save(booking2);
 
-        List<Booking> bookingList =
-                bookingRepository.findByBooker_IdAndStartLessThanEqualAndEndGreaterThanOrderByEndDesc(user.getId(),
-                        LocalDateTime.now(), LocalDateTime.now(), CustomPageRequest.of(0, 10));
+        List<BookingRow> bookingList =
+                bookingRepository.findBookings(BookingRole.BOOKER, user.getId(),
+                BookingStatus.CURRENT, LocalDateTime.now(), null, 0, 10);
 
         assertNotNull(bookingList);
         assertEquals(booking.getId(), bookingList.stream().findFirst().get().getId());
@@ -107,12 +219,13 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByItem_Owner_IdAndStartLessThanEqualAndEndGreaterThanOrderByEndDesc() {
+    void findBookings_whenOwnerCurrent_thenReturnCurrent() {
         Booking booking = Booking.builder()
                 .booker(user)
                 .start(LocalDateTime.now().minusDays(2))
                 .end(LocalDateTime.now().plusDays(1))
                 .item(item)
+                .ownerId(owner.getId())
                 .build();
         bookingRepository.save(booking);
         Booking booking2 = Booking.builder()
@@ -120,12 +233,13 @@ class BookingRepositoryTest {
                 .start(LocalDateTime.now().minusDays(5))
                 .end(LocalDateTime.now().minusDays(4))
                 .item(item)
+                .ownerId(owner.getId())
                 .build();
         bookingRepository.save(booking2);
 
-        List<Booking> bookingList =
-                bookingRepository.findByItem_Owner_IdAndStartLessThanEqualAndEndGreaterThanOrderByEndDesc(owner.getId(),
-                        LocalDateTime.now(), LocalDateTime.now(), CustomPageRequest.of(0, 10));
+        List<BookingRow> bookingList =
+                bookingRepository.findBookings(BookingRole.OWNER, owner.getId(),
+                BookingStatus.CURRENT, LocalDateTime.now(), null, 0, 10);
 
         assertNotNull(bookingList);
         assertEquals(booking.getId(), bookingList.stream().findFirst().get().getId());
@@ -133,12 +247,13 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByBooker_IdAndEndBeforeOrderByStartDesc() {
+    void findBookings_whenBookerPast_thenReturnPast() {
         Booking booking = Booking.builder()
                 .booker(user)
                 .start(LocalDateTime.now().minusDays(2))
                 .end(LocalDateTime.now().plusDays(1))
                 .item(item)
+                .ownerId(owner.getId())
                 .build();
         bookingRepository.save(booking);
         Booking booking2 = Booking.builder()
@@ -146,11 +261,12 @@ class BookingRepositoryTest {
                 .start(LocalDateTime.now().minusDays(5))
                 .end(LocalDateTime.now().minusDays(4))
                 .item(item)
+                .ownerId(owner.getId())
                 .build();
         bookingRepository.save(booking2);
 
-        List<Booking> bookingList = bookingRepository.findAllByBooker_IdAndEndBeforeOrderByStartDesc(user.getId(),
-                LocalDateTime.now(), CustomPageRequest.of(0, 10));
+        List<BookingRow> bookingList = bookingRepository.findBookings(BookingRole.BOOKER, user.getId(),
+                BookingStatus.PAST, LocalDateTime.now(), null, 0, 10);
 
         assertNotNull(bookingList);
         assertEquals(booking2.getId(), bookingList.stream().findFirst().get().getId());
@@ -158,12 +274,13 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByBooker_IdAndStartAfterOrderByEndDesc() {
+    void findBookings_whenBookerFuture_thenReturnFuture() {
         Booking booking = Booking.builder()
                 .booker(user)
                 .start(LocalDateTime.now().plusDays(2))
                 .end(LocalDateTime.now().plusDays(3))
                 .item(item)
+                .ownerId(owner.getId())
                 .build();
         bookingRepository.save(booking);
         Booking booking2 = Booking.builder()
@@ -171,11 +288,12 @@ class BookingRepositoryTest {
                 .start(LocalDateTime.now().minusDays(5))
                 .end(LocalDateTime.now().minusDays(4))
                 .item(item)
+                .ownerId(owner.getId())
                 .build();
         bookingRepository.save(booking2);
 
-        List<Booking> bookingList = bookingRepository.findByBooker_IdAndStartAfterOrderByEndDesc(user.getId(),
-                LocalDateTime.now(), CustomPageRequest.of(0, 10));
+        List<BookingRow> bookingList = bookingRepository.findBookings(BookingRole.BOOKER, user.getId(),
+                BookingStatus.FUTURE, LocalDateTime.now(), null, 0, 10);
 
         assertNotNull(bookingList);
         assertEquals(booking.getId(), bookingList.stream().findFirst().get().getId());
@@ -183,12 +301,13 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByBooker_IdAndStatusIsOrderByStartDesc() {
+    void findBookings_whenBookerWaiting_thenReturnWaiting() {
         Booking booking = Booking.builder()
                 .booker(user)
                 .start(LocalDateTime.now().plusDays(2))
                 .end(LocalDateTime.now().plusDays(3))
                 .item(item)
+                .ownerId(owner.getId())
                 .status(BookingStatus.WAITING)
                 .build();
         bookingRepository.save(booking);
@@ -197,12 +316,13 @@ class BookingRepositoryTest {
                 .start(LocalDateTime.now().minusDays(5))
                 .end(LocalDateTime.now().minusDays(4))
                 .item(item)
+                .ownerId(owner.getId())
                 .status(BookingStatus.APPROVED)
                 .build();
         bookingRepository.save(booking2);
 
-        List<Booking> bookingList = bookingRepository.findAllByBooker_IdAndStatusIsOrderByStartDesc(user.getId(),
-                BookingStatus.WAITING, CustomPageRequest.of(0, 10));
+        List<BookingRow> bookingList = bookingRepository.findBookings(BookingRole.BOOKER, user.getId(),
+                BookingStatus.WAITING, LocalDateTime.now(), null, 0, 10);
 
         assertNotNull(bookingList);
         assertEquals(booking.getId(), bookingList.stream().findFirst().get().getId());
@@ -211,12 +331,13 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByItem_Owner_IdOrderByEndDesc() {
+    void findBookings_whenOwnerAll_thenOrderByEndDesc() {
         Booking booking = Booking.builder()
                 .booker(user)
                 .start(LocalDateTime.now().plusDays(2))
                 .end(LocalDateTime.now().plusDays(3))
                 .item(item)
+                .ownerId(owner.getId())
                 .status(BookingStatus.WAITING)
                 .build();
         bookingRepository.save(booking);
@@ -225,12 +346,13 @@ class BookingRepositoryTest {
                 .start(LocalDateTime.now().minusDays(5))
                 .end(LocalDateTime.now().minusDays(4))
                 .item(item)
+                .ownerId(owner.getId())
                 .status(BookingStatus.APPROVED)
                 .build();
         bookingRepository.save(booking2);
 
-        List<Booking> bookingList = bookingRepository.findByItem_Owner_IdOrderByEndDesc(owner.getId(),
-                CustomPageRequest.of(0, 10));
+        List<BookingRow> bookingList = bookingRepository.findBookings(BookingRole.OWNER, owner.getId(),
+                BookingStatus.ALL, LocalDateTime.now(), null, 0, 10);
 
         assertNotNull(bookingList);
         assertEquals(booking.getId(), bookingList.stream().findFirst().get().getId());
@@ -240,12 +362,13 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByItem_Owner_IdAndEndBeforeOrderByStartDesc() {
+    void findBookings_whenOwnerPast_thenReturnPast() {
         Booking booking = Booking.builder()
                 .booker(user)
                 .start(LocalDateTime.now().plusDays(2))
                 .end(LocalDateTime.now().plusDays(3))
                 .item(item)
+                .ownerId(owner.getId())
                 .status(BookingStatus.WAITING)
                 .build();
         bookingRepository.save(booking);
@@ -254,12 +377,13 @@ class BookingRepositoryTest {
                 .start(LocalDateTime.now().minusDays(5))
                 .end(LocalDateTime.now().minusDays(4))
                 .item(item)
+                .ownerId(owner.getId())
                 .status(BookingStatus.APPROVED)
                 .build();
         bookingRepository.save(booking2);
 
-        List<Booking> bookingList = bookingRepository.findByItem_Owner_IdAndEndBeforeOrderByStartDesc(owner.getId(),
-                LocalDateTime.now(), CustomPageRequest.of(0, 10));
+        List<BookingRow> bookingList = bookingRepository.findBookings(BookingRole.OWNER, owner.getId(),
+                BookingStatus.PAST, LocalDateTime.now(), null, 0, 10);
 
         assertNotNull(bookingList);
         assertEquals(booking2.getId(), bookingList.stream().findFirst().get().getId());
@@ -268,12 +392,13 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByItem_Owner_IdAndStartAfterOrderByEndDesc() {
+    void findBookings_whenOwnerFuture_thenReturnFuture() {
         Booking booking = Booking.builder()
                 .booker(user)
                 .start(LocalDateTime.now().plusDays(2))
                 .end(LocalDateTime.now().plusDays(3))
                 .item(item)
+                .ownerId(owner.getId())
                 .status(BookingStatus.WAITING)
                 .build();
         bookingRepository.save(booking);
@@ -282,12 +407,13 @@ class BookingRepositoryTest {
                 .start(LocalDateTime.now().minusDays(5))
                 .end(LocalDateTime.now().minusDays(4))
                 .item(item)
+                .ownerId(owner.getId())
                 .status(BookingStatus.APPROVED)
                 .build();
         bookingRepository.save(booking2);
 
-        List<Booking> bookingList = bookingRepository.findByItem_Owner_IdAndStartAfterOrderByEndDesc(owner.getId(),
-                LocalDateTime.now(), CustomPageRequest.of(0, 10));
+        List<BookingRow> bookingList = bookingRepository.findBookings(BookingRole.OWNER, owner.getId(),
+                BookingStatus.FUTURE, LocalDateTime.now(), null, 0, 10);
 
         assertNotNull(bookingList);
         assertEquals(booking.getId(), bookingList.stream().findFirst().get().getId());
@@ -296,12 +422,13 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByItem_Owner_IdAndStatusIsOrderByStartDesc() {
+    void findBookings_whenOwnerWaiting_thenReturnWaiting() {
         Booking booking = Booking.builder()
                 .booker(user)
                 .start(LocalDateTime.now().plusDays(2))
                 .end(LocalDateTime.now().plusDays(3))
                 .item(item)
+                .ownerId(owner.getId())
                 .status(BookingStatus.WAITING)
                 .build();
         bookingRepository.save(booking);
@@ -310,73 +437,94 @@ class BookingRepositoryTest {
                 .start(LocalDateTime.now().minusDays(5))
                 .end(LocalDateTime.now().minusDays(4))
                 .item(item)
+                .ownerId(owner.getId())
                 .status(BookingStatus.APPROVED)
                 .build();
         bookingRepository.save(booking2);
 
-        List<Booking> bookingList = bookingRepository.findByItem_Owner_IdAndStatusIsOrderByStartDesc(owner.getId(),
-                BookingStatus.APPROVED, CustomPageRequest.of(0, 10));
+        List<BookingRow> bookingList = bookingRepository.findBookings(BookingRole.OWNER, owner.getId(),
+                BookingStatus.WAITING, LocalDateTime.now(), null, 0, 10);
 
         assertNotNull(bookingList);
-        assertEquals(booking2.getId(), bookingList.stream().findFirst().get().getId());
-        assertEquals(booking2.getStatus(), bookingList.stream().findFirst().get().getStatus());
+        assertEquals(booking.getId(), bookingList.stream().findFirst().get().getId());
+        assertEquals(booking.getStatus(), bookingList.stream().findFirst().get().getStatus());
         assertEquals(1, bookingList.size());
     }
 
     @Test
-    void findByItem_IdAndStartIsAfterOrderByStartDesc() {
-        Booking booking = Booking.builder()
+    void findNextBookings() {
+        Booking far = Booking.builder()
+                .booker(user)
+                .start(LocalDateTime.now().plusDays(5))
+                .end(LocalDateTime.now().plusDays(6))
+                .item(item)
+                .ownerId(owner.getId())
+                .status(BookingStatus.APPROVED)
+                .build();
+        bookingRepository.save(far);
+        Booking nearest = Booking.builder()
                 .booker(user)
                 .start(LocalDateTime.now().plusDays(2))
                 .end(LocalDateTime.now().plusDays(3))
                 .item(item)
-                .status(BookingStatus.WAITING)
+                .ownerId(owner.getId())
+                .status(BookingStatus.APPROVED)
                 .build();
-        bookingRepository.save(booking);
-        Booking booking2 = Booking.builder()
+        bookingRepository.save(nearest);
+        Booking waiting = Booking.builder()
                 .booker(user)
-                .start(LocalDateTime.now().minusDays(5))
-                .end(LocalDateTime.now().minusDays(4))
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
                 .item(item)
-                .status(BookingStatus.APPROVED)
+                .ownerId(owner.getId())
+                .status(BookingStatus.WAITING)
                 .build();
-        bookingRepository.save(booking2);
+        bookingRepository.save(waiting);
 
-        List<Booking> bookingList = bookingRepository.findByItem_IdAndStartIsAfterOrderByStartDesc(item.getId(),
-                LocalDateTime.now());
+        List<BookingDtoForItem> bookingList = bookingRepository.findNextBookings(item.getId(),
+                BookingStatus.APPROVED, LocalDateTime.now(), PageRequest.of(0, 1));
 
-        assertNotNull(bookingList);
-        assertEquals(booking.getId(), bookingList.stream().findFirst().get().getId());
-        assertEquals(booking.getStatus(), bookingList.stream().findFirst().get().getStatus());
         assertEquals(1, bookingList.size());
+        assertEquals(nearest.getId(), bookingList.get(0).getId());
+        assertEquals(user.getId(), bookingList.get(0).getBookerId());
     }
 
     @Test
-    void findByItem_IdAndEndIsBeforeOrderByEndDesc() {
-        Booking booking = Booking.builder()
+    void findLastBookings() {
+        Booking latest = Booking.builder()
                 .booker(user)
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(LocalDateTime.now().minusDays(3))
+                .end(LocalDateTime.now().minusDays(2))
                 .item(item)
-                .status(BookingStatus.WAITING)
+                .ownerId(owner.getId())
+                .status(BookingStatus.APPROVED)
                 .build();
-        bookingRepository.save(booking);
-        Booking booking2 = Booking.builder()
+        bookingRepository.save(latest);
+        Booking older = Booking.builder()
                 .booker(user)
                 .start(LocalDateTime.now().minusDays(5))
                 .end(LocalDateTime.now().minusDays(4))
                 .item(item)
+                .ownerId(owner.getId())
                 .status(BookingStatus.APPROVED)
                 .build();
-        bookingRepository.save(booking2);
+        bookingRepository.save(older);
+        Booking rejected = Booking.builder()
+                .booker(user)
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .item(item)
+                .ownerId(owner.getId())
+                .status(BookingStatus.REJECTED)
+                .build();
+        bookingRepository.save(rejected);
 
-        List<Booking> bookingList = bookingRepository.findByItem_IdAndEndIsBeforeOrderByEndDesc(item.getId(),
-                LocalDateTime.now());
+        List<BookingDtoForItem> bookingList = bookingRepository.findLastBookings(item.getId(),
+                BookingStatus.APPROVED, LocalDateTime.now(), PageRequest.of(0, 1));
 
-        assertNotNull(bookingList);
-        assertEquals(booking2.getId(), bookingList.stream().findFirst().get().getId());
-        assertEquals(booking2.getStatus(), bookingList.stream().findFirst().get().getStatus());
         assertEquals(1, bookingList.size());
+        assertEquals(latest.getId(), bookingList.get(0).getId());
+        assertEquals(user.getId(), bookingList.get(0).getBookerId());
     }
 
     @Test
@@ -386,6 +534,7 @@ class BookingRepositoryTest {
                 .start(LocalDateTime.now().plusDays(2))
                 .end(LocalDateTime.now().plusDays(3))
                 .item(item)
+                .ownerId(owner.getId())
                 .status(BookingStatus.WAITING)
                 .build();
         bookingRepository.save(booking);
@@ -394,6 +543,7 @@ class BookingRepositoryTest {
                 .start(LocalDateTime.now().minusDays(5))
                 .end(LocalDateTime.now().minusDays(4))
                 .item(item)
+                .ownerId(owner.getId())
                 .status(BookingStatus.APPROVED)
                 .build();
         bookingRepository.save(booking2);
@@ -408,8 +558,167 @@ class BookingRepositoryTest {
         assertEquals(1, bookingList.size());
     }
 
+    @Test
+    void findLastAndNextBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking last = bookingRepository.save(Booking.builder()
+                .booker(user)
+                .start(now.minusDays(5))
+                .end(now.minusDays(4))
+                .item(item)
+                .ownerId(owner.getId())
+                .status(BookingStatus.APPROVED)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .booker(user)
+                .start(now.minusDays(10))
+                .end(now.minusDays(9))
+                .item(item)
+                .ownerId(owner.getId())
+                .status(BookingStatus.APPROVED)
+                .build());
+        Booking next = bookingRepository.save(Booking.builder()
+                .booker(user)
+                .start(now.plusDays(2))
+                .end(now.plusDays(3))
+                .item(item)
+                .ownerId(owner.getId())
+                .status(BookingStatus.APPROVED)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .booker(user)
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .item(item)
+                .ownerId(owner.getId())
+                .status(BookingStatus.WAITING)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .booker(user)
+                .start(now.plusDays(5))
+                .end(now.plusDays(6))
+                .item(item)
+                .ownerId(owner.getId())
+                .status(BookingStatus.APPROVED)
+                .build());
+
+        List<BookingShort> bookingList = bookingRepository.findLastAndNextBookings(List.of(item.getId()),
+                BookingStatus.APPROVED, now);
+
+        assertEquals(2, bookingList.size());
+        assertTrue(bookingList.stream().anyMatch(b -> b.getId().equals(last.getId())));
+        assertTrue(bookingList.stream().anyMatch(b -> b.getId().equals(next.getId())));
+        assertTrue(bookingList.stream().allMatch(b -> b.getItemId().equals(item.getId())
+                && b.getBookerId().equals(user.getId())));
+    }
+
+    @Test
+    void findLastAndNextBookings_whenSeveralPastAndFuturePerItem_thenOneLastAndOneNextPerItem() {
+        LocalDateTime now = LocalDateTime.now();
+        Item other = itemRepository.save(Item.builder()
+                .name("Lamp")
+                .description("Desk lamp")
+                .available(true)
+                .owner(owner)
+                .build());
+        for (Item bookedItem : List.of(item, other)) {
+            for (int day = 1; day <= 3; day++) {
+                saveBooking(bookedItem, now.minusDays(day * 2L), now.minusDays(day * 2L - 1));
+                saveBooking(bookedItem, now.plusDays(day * 2L - 1), now.plusDays(day * 2L));
+            }
+        }
+        Booking last = saveBooking(item, now.minusHours(3), now.minusHours(1));
+        Booking sameEnd = saveBooking(item, now.minusHours(2), now.minusHours(1));
+        Booking next = saveBooking(item, now.plusHours(1), now.plusHours(2));
+        Booking sameStart = saveBooking(item, now.plusHours(1), now.plusHours(3));
+
+        List<BookingShort> bookingList = bookingRepository.findLastAndNextBookings(List.of(item.getId(),
+                other.getId()), BookingStatus.APPROVED, now);
+
+        List<BookingShort> itemBookings = bookingList.stream()
+                .filter(b -> b.getItemId().equals(item.getId()))
+                .collect(Collectors.toList());
+        List<BookingShort> otherBookings = bookingList.stream()
+                .filter(b -> b.getItemId().equals(other.getId()))
+                .collect(Collectors.toList());
+        assertEquals(4, bookingList.size());
+        assertEquals(1, itemBookings.stream().filter(b -> b.getStart().isAfter(now)).count());
+        assertEquals(1, itemBookings.stream().filter(b -> b.getStart().isBefore(now)).count());
+        assertTrue(itemBookings.stream().anyMatch(b -> b.getId().equals(Math.max(last.getId(), sameEnd.getId()))));
+        assertTrue(itemBookings.stream().anyMatch(b -> b.getId().equals(Math.min(next.getId(), sameStart.getId()))));
+        assertEquals(1, otherBookings.stream().filter(b -> b.getStart().isAfter(now)).count());
+        assertEquals(1, otherBookings.stream().filter(b -> b.getStart().isBefore(now)).count());
+        assertTrue(otherBookings.stream().allMatch(b -> b.getBookerId().equals(user.getId())));
+    }
+
+    @Test
+    void findBookings_whenMapPage_thenSingleStatementWithoutComments() {
+        for (int i = 0; i < 5; i++) {
+            User itemOwner = userRepository.save(User.builder()
+                    .name("Owner" + i)
+                    .email("owner" + i + "@mail.test")
+                    .build());
+            Item ownedItem = itemRepository.save(Item.builder()
+                    .name("Item" + i)
+                    .description("Description" + i)
+                    .available(true)
+                    .owner(itemOwner)
+                    .build());
+            commentRepository.save(Comment.builder()
+                    .text("Comment" + i)
+                    .item(ownedItem)
+                    .author(user)
+                    .created(LocalDateTime.now())
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .booker(user)
+                    .start(LocalDateTime.now().minusDays(2))
+                    .end(LocalDateTime.now().minusDays(1))
+                    .item(ownedItem)
+                    .ownerId(itemOwner.getId())
+                    .status(BookingStatus.APPROVED)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingDtoInfo> bookingList = bookingRepository.findBookings(BookingRole.BOOKER, user.getId(),
+                        BookingStatus.ALL, LocalDateTime.now(), null, 0, 10)
+                .stream()
+                .map(BookingMapper::toBookingDtoInfo)
+                .collect(Collectors.toList());
+
+        assertEquals(5, bookingList.size());
+        assertTrue(bookingList.stream().allMatch(booking -> booking.getItem().getComments().isEmpty()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
     @AfterEach
     private void deleteItems() {
         bookingRepository.deleteAll();
     }
-}
\ No newline at end of file
+
+    private Booking saveBooking(Item bookedItem, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.save(Booking.builder()
+                .booker(user)
+                .start(start)
+                .end(end)
+                .item(bookedItem)
+                .ownerId(owner.getId())
+                .status(BookingStatus.APPROVED)
+                .build());
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -1,15 +1,22 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingRole;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoForItem;
 import ru.practicum.shareit.booking.dto.BookingDtoInfo;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.common.PageCursor;
+import ru.practicum.shareit.common.RequestScopedLookup;
 import ru.practicum.shareit.handler.exception.BadRequestException;
 import ru.practicum.shareit.handler.exception.NotFoundException;
 import ru.practicum.shareit.handler.exception.OwnerException;
@@ -24,6 +31,9 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 class BookingServiceImplTest {
@@ -42,7 +52,8 @@ class BookingServiceImplTest {
         bookingRepository = mock(BookingRepository.class);
         itemService = mock(ItemService.class);
         userService = mock(UserService.class);
-        bookingService = new BookingServiceImpl(bookingRepository, itemService, userService);
+        bookingService = new BookingServiceImpl(bookingRepository, itemService, userService,
+                new RequestScopedLookup(new SimpleMeterRegistry()));
 
         user = User.builder()
                 .id(1L)
@@ -308,10 +319,11 @@ class BookingServiceImplTest {
                 .item(item)
                 .build();
         when(userService.getByIdOrNotFoundError(any())).thenReturn(user);
-        when(bookingRepository.findByBooker_IdOrderByEndDesc(any(), any())).thenReturn(List.of(booking));
+        when(bookingRepository.findBookings(eq(BookingRole.BOOKER), any(), eq(BookingStatus.ALL), any(),
+                isNull(), eq(0), eq(10))).thenReturn(List.of(toRow(booking)));
 
         List<BookingDtoInfo> bookingDtoInfoList = bookingService.getAllBookingsByUserId(user.getId(), "ALL",
-                0, 10);
+                0, 10, null);
 
         assertNotNull(bookingDtoInfoList);
         assertEquals(1, bookingDtoInfoList.size());
@@ -328,11 +340,11 @@ class BookingServiceImplTest {
                 .item(item)
                 .build();
         when(userService.getByIdOrNotFoundError(any())).thenReturn(user);
-        when(bookingRepository.findByBooker_IdAndStartLessThanEqualAndEndGreaterThanOrderByEndDesc(any(), any(),
-                any(), any())).thenReturn(List.of(booking));
+        when(bookingRepository.findBookings(eq(BookingRole.BOOKER), any(), eq(BookingStatus.CURRENT), any(),
+                isNull(), eq(0), eq(10))).thenReturn(List.of(toRow(booking)));
 
         List<BookingDtoInfo> bookingDtoInfoList = bookingService.getAllBookingsByUserId(user.getId(), "CURRENT",
-                0, 10);
+                0, 10, null);
 
         assertNotNull(bookingDtoInfoList);
         assertEquals(1, bookingDtoInfoList.size());
@@ -349,11 +361,11 @@ class BookingServiceImplTest {
                 .item(item)
                 .build();
         when(userService.getByIdOrNotFoundError(any())).thenReturn(user);
-        when(bookingRepository.findAllByBooker_IdAndEndBeforeOrderByStartDesc(any(), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findBookings(eq(BookingRole.BOOKER), any(), eq(BookingStatus.PAST), any(),
+                isNull(), eq(0), eq(10))).thenReturn(List.of(toRow(booking)));
 
         List<BookingDtoInfo> bookingDtoInfoList = bookingService.getAllBookingsByUserId(user.getId(), "PAST",
-                0, 10);
+                0, 10, null);
 
         assertNotNull(bookingDtoInfoList);
         assertEquals(1, bookingDtoInfoList.size());
@@ -370,11 +382,11 @@ class BookingServiceImplTest {
                 .item(item)
                 .build();
         when(userService.getByIdOrNotFoundError(any())).thenReturn(user);
-        when(bookingRepository.findByBooker_IdAndStartAfterOrderByEndDesc(any(), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findBookings(eq(BookingRole.BOOKER), any(), eq(BookingStatus.FUTURE), any(),
+                isNull(), eq(0), eq(10))).thenReturn(List.of(toRow(booking)));
 
         List<BookingDtoInfo> bookingDtoInfoList = bookingService.getAllBookingsByUserId(user.getId(), "FUTURE",
-                0, 10);
+                0, 10, null);
 
         assertNotNull(bookingDtoInfoList);
         assertEquals(1, bookingDtoInfoList.size());
@@ -391,11 +403,11 @@ class BookingServiceImplTest {
                 .item(item)
                 .build();
         when(userService.getByIdOrNotFoundError(any())).thenReturn(user);
-        when(bookingRepository.findAllByBooker_IdAndStatusIsOrderByStartDesc(any(), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findBookings(eq(BookingRole.BOOKER), any(), eq(BookingStatus.WAITING), any(),
+                isNull(), eq(0), eq(10))).thenReturn(List.of(toRow(booking)));
 
         List<BookingDtoInfo> bookingDtoInfoList = bookingService.getAllBookingsByUserId(user.getId(), "WAITING",
-                0, 10);
+                0, 10, null);
 
         assertNotNull(bookingDtoInfoList);
         assertEquals(1, bookingDtoInfoList.size());
@@ -412,11 +424,11 @@ class BookingServiceImplTest {
                 .item(item)
                 .build();
         when(userService.getByIdOrNotFoundError(any())).thenReturn(user);
-        when(bookingRepository.findAllByBooker_IdAndStatusIsOrderByStartDesc(any(), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findBookings(eq(BookingRole.BOOKER), any(), eq(BookingStatus.REJECTED), any(),
+                isNull(), eq(0), eq(10))).thenReturn(List.of(toRow(booking)));
 
         List<BookingDtoInfo> bookingDtoInfoList = bookingService.getAllBookingsByUserId(user.getId(), "REJECTED",
-                0, 10);
+                0, 10, null);
 
         assertNotNull(bookingDtoInfoList);
         assertEquals(1, bookingDtoInfoList.size());
@@ -433,10 +445,11 @@ class BookingServiceImplTest {
                 .item(item)
                 .build();
         when(userService.getByIdOrNotFoundError(any())).thenReturn(user);
-        when(bookingRepository.findByItem_Owner_IdOrderByEndDesc(any(), any())).thenReturn(List.of(booking));
+        when(bookingRepository.findBookings(eq(BookingRole.OWNER), any(), eq(BookingStatus.ALL), any(),
+                isNull(), eq(0), eq(10))).thenReturn(List.of(toRow(booking)));
 
         List<BookingDtoInfo> bookingDtoInfoList = bookingService.getAllBookingsByOwnerId(owner.getId(), "ALL",
-                0, 10);
+                0, 10, null);
 
         assertNotNull(bookingDtoInfoList);
         assertEquals(1, bookingDtoInfoList.size());
@@ -453,11 +466,11 @@ class BookingServiceImplTest {
                 .item(item)
                 .build();
         when(userService.getByIdOrNotFoundError(any())).thenReturn(user);
-        when(bookingRepository.findByItem_Owner_IdAndStartLessThanEqualAndEndGreaterThanOrderByEndDesc(any(), any(),
-                any(), any())).thenReturn(List.of(booking));
+        when(bookingRepository.findBookings(eq(BookingRole.OWNER), any(), eq(BookingStatus.CURRENT), any(),
+                isNull(), eq(0), eq(10))).thenReturn(List.of(toRow(booking)));
 
         List<BookingDtoInfo> bookingDtoInfoList = bookingService.getAllBookingsByOwnerId(owner.getId(), "CURRENT",
-                0, 10);
+                0, 10, null);
 
         assertNotNull(bookingDtoInfoList);
         assertEquals(1, bookingDtoInfoList.size());
@@ -474,11 +487,11 @@ class BookingServiceImplTest {
                 .item(item)
                 .build();
         when(userService.getByIdOrNotFoundError(any())).thenReturn(user);
-        when(bookingRepository.findByItem_Owner_IdAndEndBeforeOrderByStartDesc(any(), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findBookings(eq(BookingRole.OWNER), any(), eq(BookingStatus.PAST), any(),
+                isNull(), eq(0), eq(10))).thenReturn(List.of(toRow(booking)));
 
         List<BookingDtoInfo> bookingDtoInfoList = bookingService.getAllBookingsByOwnerId(owner.getId(), "PAST",
-                0, 10);
+                0, 10, null);
 
         assertNotNull(bookingDtoInfoList);
         assertEquals(1, bookingDtoInfoList.size());
@@ -495,11 +508,11 @@ class BookingServiceImplTest {
                 .item(item)
                 .build();
         when(userService.getByIdOrNotFoundError(any())).thenReturn(user);
-        when(bookingRepository.findByItem_Owner_IdAndStartAfterOrderByEndDesc(any(), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findBookings(eq(BookingRole.OWNER), any(), eq(BookingStatus.FUTURE), any(),
+                isNull(), eq(0), eq(10))).thenReturn(List.of(toRow(booking)));
 
         List<BookingDtoInfo> bookingDtoInfoList = bookingService.getAllBookingsByOwnerId(owner.getId(), "FUTURE",
-                0, 10);
+                0, 10, null);
 
         assertNotNull(bookingDtoInfoList);
         assertEquals(1, bookingDtoInfoList.size());
@@ -516,11 +529,11 @@ class BookingServiceImplTest {
                 .item(item)
                 .build();
         when(userService.getByIdOrNotFoundError(any())).thenReturn(user);
-        when(bookingRepository.findByItem_Owner_IdAndStatusIsOrderByStartDesc(any(), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findBookings(eq(BookingRole.OWNER), any(), eq(BookingStatus.WAITING), any(),
+                isNull(), eq(0), eq(10))).thenReturn(List.of(toRow(booking)));
 
         List<BookingDtoInfo> bookingDtoInfoList = bookingService.getAllBookingsByOwnerId(owner.getId(), "WAITING",
-                0, 10);
+                0, 10, null);
 
         assertNotNull(bookingDtoInfoList);
         assertEquals(1, bookingDtoInfoList.size());
@@ -537,16 +550,29 @@ class BookingServiceImplTest {
                 .item(item)
                 .build();
         when(userService.getByIdOrNotFoundError(any())).thenReturn(user);
-        when(bookingRepository.findByItem_Owner_IdAndStatusIsOrderByStartDesc(any(), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findBookings(eq(BookingRole.OWNER), any(), eq(BookingStatus.REJECTED), any(),
+                isNull(), eq(0), eq(10))).thenReturn(List.of(toRow(booking)));
 
         List<BookingDtoInfo> bookingDtoInfoList = bookingService.getAllBookingsByOwnerId(owner.getId(),
-                "REJECTED", 0, 10);
+                "REJECTED", 0, 10, null);
 
         assertNotNull(bookingDtoInfoList);
         assertEquals(1, bookingDtoInfoList.size());
     }
 
+    @Test
+    void getAllBookingsByOwnerId_whenAfterGiven_thenSeekFromDecodedCursor() {
+        PageCursor cursor = PageCursor.of(LocalDateTime.now(), 3L);
+        when(userService.getByIdOrNotFoundError(any())).thenReturn(owner);
+        when(bookingRepository.findBookings(eq(BookingRole.OWNER), eq(owner.getId()), eq(BookingStatus.PAST), any(),
+                eq(cursor), anyInt(), eq(5))).thenReturn(List.of());
+
+        List<BookingDtoInfo> bookingDtoInfoList = bookingService.getAllBookingsByOwnerId(owner.getId(), "PAST",
+                0, 5, cursor.encode());
+
+        assertTrue(bookingDtoInfoList.isEmpty());
+    }
+
     @Test
     void findAllBookingsByBookerIdAndItemIdAndEndBeforeAndStatus() {
         Booking booking = Booking.builder()
@@ -570,37 +596,55 @@ class BookingServiceImplTest {
 
     @Test
     void getNextBooking() {
-        Booking booking = Booking.builder()
-                .id(bookingDto.getItemId())
-                .start(bookingDto.getStart())
-                .end(bookingDto.getEnd())
-                .booker(user)
-                .status(BookingStatus.APPROVED)
-                .item(item)
-                .build();
-        when(bookingRepository.findByItem_IdAndStartIsAfterOrderByStartDesc(any(), any())).thenReturn(List.of(booking));
+        LocalDateTime now = LocalDateTime.now();
+        when(bookingRepository.findNextBookings(item.getId(), BookingStatus.APPROVED, now, PageRequest.of(0, 1)))
+                .thenReturn(List.of(new BookingDtoForItem(1L, user.getId())));
 
-        List<BookingDtoForItem> bookingList = bookingService.getNextBooking(item.getId(), LocalDateTime.now());
+        List<BookingDtoForItem> bookingList = bookingService.getNextBooking(item.getId(), now);
 
         assertNotNull(bookingList);
         assertEquals(1, bookingList.size());
+        verify(bookingRepository).findNextBookings(item.getId(), BookingStatus.APPROVED, now, PageRequest.of(0, 1));
     }
 
     @Test
     void getLastBooking() {
-        Booking booking = Booking.builder()
-                .id(bookingDto.getItemId())
-                .start(bookingDto.getStart())
-                .end(bookingDto.getEnd())
-                .booker(user)
-                .status(BookingStatus.APPROVED)
-                .item(item)
-                .build();
-        when(bookingRepository.findByItem_IdAndEndIsBeforeOrderByEndDesc(any(), any())).thenReturn(List.of(booking));
+        LocalDateTime now = LocalDateTime.now();
+        when(bookingRepository.findLastBookings(item.getId(), BookingStatus.APPROVED, now, PageRequest.of(0, 1)))
+                .thenReturn(List.of(new BookingDtoForItem(1L, user.getId())));
 
-        List<BookingDtoForItem> bookingList = bookingService.getLastBooking(item.getId(), LocalDateTime.now());
+        List<BookingDtoForItem> bookingList = bookingService.getLastBooking(item.getId(), now);
 
         assertNotNull(bookingList);
         assertEquals(1, bookingList.size());
+        verify(bookingRepository).findLastBookings(item.getId(), BookingStatus.APPROVED, now, PageRequest.of(0, 1));
+    }
+
+    @Test
+    void getLastAndNextBookings_whenNoItems_thenNotQueryRepository() {
+        List<BookingShort> bookingList = bookingService.getLastAndNextBookings(List.of(), LocalDateTime.now());
+
+        assertTrue(bookingList.isEmpty());
+        verify(bookingRepository, never()).findLastAndNextBookings(any(), any(), any());
+    }
+
+    @Test
+    void getLastAndNextBookings_whenItems_thenQueryApprovedBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        when(bookingRepository.findLastAndNextBookings(List.of(item.getId()), BookingStatus.APPROVED, now))
+                .thenReturn(List.of(mock(BookingShort.class)));
+
+        List<BookingShort> bookingList = bookingService.getLastAndNextBookings(List.of(item.getId()), now);
+
+        assertEquals(1, bookingList.size());
+        verify(bookingRepository).findLastAndNextBookings(List.of(item.getId()), BookingStatus.APPROVED, now);
+    }
+
+    private static BookingRow toRow(Booking booking) {
+        Item item = booking.getItem();
+        User booker = booking.getBooker();
+        return new BookingRow(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                booker.getId(), booker.getName(), booker.getEmail(), item.getId(), item.getName(),
+                item.getDescription(), item.getAvailable(), item.getOwner().getId(), item.getRequestId());
     }
-}
\ No newline at end of file
+}
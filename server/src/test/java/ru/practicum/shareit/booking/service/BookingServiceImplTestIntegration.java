@@ -74,7 +74,7 @@ class BookingServiceImplTestIntegration {
     @Test
     void getAllBookingsByOwnerId() {
         List<BookingDtoInfo> bookingDtoInfoList = bookingService.getAllBookingsByOwnerId(user.getId(),
-                "WAITING", 0, 10);
+                "WAITING", 0, 10, null);
 
         assertNotNull(bookingDtoInfoList);
         assertEquals(1, bookingDtoInfoList.size());
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EtagConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(EtagConfig.class);
+
+    @Test
+    void etagFilter_whenNotEnabled_thenNotRegistered() {
+        contextRunner.run(context -> assertFalse(context.containsBean("etagFilter")));
+        contextRunner.withPropertyValues("shareit.etag.enabled=false")
+                .run(context -> assertFalse(context.containsBean("etagFilter")));
+    }
+
+    @Test
+    void etagFilter_whenEnabled_thenRegistered() {
+        contextRunner.withPropertyValues("shareit.etag.enabled=true")
+                .run(context -> assertTrue(context.containsBean("etagFilter")));
+    }
+}
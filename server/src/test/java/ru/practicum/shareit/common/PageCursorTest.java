@@ -0,0 +1,44 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.handler.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void decode_whenEncoded_thenSameCursor() {
+        PageCursor cursor = PageCursor.of(LocalDateTime.of(2023, 1, 2, 3, 4, 5, 6000), 42L);
+        PageCursor idOnly = PageCursor.of(7L);
+
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+        assertEquals(idOnly, PageCursor.decode(idOnly.encode()));
+        assertNull(PageCursor.decode(idOnly.encode()).getSortKey());
+    }
+
+    @Test
+    void decode_whenGarbage_thenThrowBadRequest() {
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("bm9wZQ"));
+    }
+
+    @Test
+    void requireSortKey_whenIdOnly_thenThrowBadRequest() {
+        assertThrows(BadRequestException.class, () -> PageCursor.of(1L).requireSortKey());
+    }
+
+    @Test
+    void toResponse_whenPageIsFull_thenSetNextCursorOfLastRow() {
+        ResponseEntity<List<Long>> full = PageCursor.toResponse(List.of(1L, 2L), 2, PageCursor::of);
+        ResponseEntity<List<Long>> last = PageCursor.toResponse(List.of(3L), 2, PageCursor::of);
+
+        assertEquals(PageCursor.of(2L).encode(), full.getHeaders().getFirst(PageCursor.NEXT_CURSOR_HEADER));
+        assertFalse(last.getHeaders().containsKey(PageCursor.NEXT_CURSOR_HEADER));
+        assertEquals(List.of(3L), last.getBody());
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.user.User;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestScopedLookupTest {
+    SimpleMeterRegistry meterRegistry;
+    RequestScopedLookup lookup;
+    AtomicInteger loads;
+    Supplier<User> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lookup = new RequestScopedLookup(meterRegistry);
+        loads = new AtomicInteger();
+        loader = () -> {
+            loads.incrementAndGet();
+            return new User(1L, "Bill", "bill@mail.ru");
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void get_whenSameRequest_thenLoadOnceAndCountSaved() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        User first = lookup.get(User.class, 1L, loader);
+
+        assertSame(first, lookup.get(User.class, 1L, loader));
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("shareit.lookup.deduplicated").tag("entity", "User").counter().count());
+    }
+
+    @Test
+    void get_whenForgotten_thenLoadAgain() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        lookup.get(User.class, 1L, loader);
+
+        lookup.forget(User.class, 1L);
+        lookup.get(User.class, 1L, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_whenNoRequest_thenAlwaysLoad() {
+        lookup.get(User.class, 1L, loader);
+        lookup.get(User.class, 1L, loader);
+
+        assertEquals(2, loads.get());
+    }
+}
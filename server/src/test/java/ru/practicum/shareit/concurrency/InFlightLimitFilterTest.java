@@ -0,0 +1,48 @@
+package ru.practicum.shareit.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InFlightLimitFilterTest {
+    SimpleMeterRegistry meterRegistry;
+    InFlightLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new InFlightLimitFilter(1, Duration.ZERO, meterRegistry);
+    }
+
+    @Test
+    void doFilter_whenLimitReached_thenRejectWith503() throws Exception {
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) -> {
+            assertEquals(1, filter.inFlight());
+            filter.doFilter(new MockHttpServletRequest(), second, new MockFilterChain());
+        });
+
+        assertEquals(503, second.getStatus());
+        assertEquals(1.0, meterRegistry.get("shareit.requests.rejected").counter().count());
+    }
+
+    @Test
+    void doFilter_whenRequestDone_thenReleasePermit() throws Exception {
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest(), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+        assertEquals(0, filter.inFlight());
+        assertEquals(0.0, meterRegistry.get("shareit.requests.in-flight").gauge().value());
+    }
+}
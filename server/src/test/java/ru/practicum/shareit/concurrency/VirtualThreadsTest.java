@@ -0,0 +1,21 @@
+package ru.practicum.shareit.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VirtualThreadsTest {
+
+    @Test
+    void newPerTaskExecutor_whenRuntimeHasVirtualThreads_thenPresent() {
+        boolean supported = Runtime.version().feature() >= 21;
+
+        Optional<ExecutorService> executor = VirtualThreads.newPerTaskExecutor("test-");
+
+        assertEquals(supported, executor.isPresent());
+        executor.ifPresent(ExecutorService::shutdown);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.handler.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The replica is a separate in-memory database with the same schema, so a row only it holds shows which pool a read
+ * went to.
+ */
+@SpringBootTest(properties = {
+        "shareit.datasource.replica.enabled=true",
+        "shareit.datasource.replica.url=jdbc:h2:mem:replica;INIT=RUNSCRIPT FROM 'classpath:schema.sql'",
+        "shareit.datasource.replica.username=test",
+        "shareit.datasource.replica.password=test"
+})
+class ReplicaDataSourceConfigTest {
+    @Autowired
+    @Qualifier("replicaPool")
+    HikariDataSource replicaPool;
+    @Autowired
+    UserService userService;
+
+    @Test
+    void getUser_whenReplicaEnabled_thenReadFromReplicaWithoutCaching() {
+        UserDto user = userService.createUser(UserDto.builder().name("Replica").email("replica@mail.test").build());
+
+        assertThrows(NotFoundException.class, () -> userService.getUser(user.getId()));
+
+        new JdbcTemplate(replicaPool).update("insert into users (user_id, name, email) values (?, 'Stale', ?)",
+                user.getId(), user.getEmail());
+
+        assertEquals("Stale", userService.getUser(user.getId()).getName());
+        assertEquals("Replica", ReadYourWrites.onPrimary(() -> userService.getUser(user.getId())).getName());
+        assertEquals("Replica", userService.getUser(user.getId()).getName());
+
+        userService.deleteUserById(user.getId());
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReplicaRoutingDataSourceTest {
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ReplicaRoutingDataSource(mock(DataSource.class), mock(DataSource.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void determineCurrentLookupKey_whenReadOnlyTransaction_thenReplica() {
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, dataSource.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void isReplicaRead_whenTransactionGotReplicaConnection_thenTrueUntilCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertFalse(ReplicaRoutingDataSource.isReplicaRead());
+
+        dataSource.determineCurrentLookupKey();
+
+        assertTrue(ReplicaRoutingDataSource.isReplicaRead());
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertFalse(ReplicaRoutingDataSource.isReplicaRead());
+    }
+
+    @Test
+    void onPrimary_whenReadOnlyTransaction_thenPrimaryAndNotReplicaRead() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY,
+                ReadYourWrites.onPrimary(dataSource::determineCurrentLookupKey));
+
+        assertFalse(ReadYourWrites.isPinned());
+        assertFalse(ReplicaRoutingDataSource.isReplicaRead());
+    }
+
+    @Test
+    void filter_whenUserWroteRecently_thenPinReadsToPrimary() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(new ReadYourWrites(Duration.ofMinutes(1)));
+        List<ReplicaRoutingDataSource.Route> routes = new ArrayList<>();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        filter.doFilter(request("GET", "1"), new MockHttpServletResponse(), chain(routes));
+        filter.doFilter(request("PATCH", "1"), new MockHttpServletResponse(), chain(routes));
+        filter.doFilter(request("GET", "1"), new MockHttpServletResponse(), chain(routes));
+        filter.doFilter(request("GET", "2"), new MockHttpServletResponse(), chain(routes));
+
+        assertEquals(List.of(ReplicaRoutingDataSource.Route.REPLICA, ReplicaRoutingDataSource.Route.PRIMARY,
+                ReplicaRoutingDataSource.Route.PRIMARY, ReplicaRoutingDataSource.Route.REPLICA), routes);
+        assertFalse(ReadYourWrites.isPinned());
+    }
+
+    private MockFilterChain chain(List<ReplicaRoutingDataSource.Route> routes) {
+        return new MockFilterChain() {
+            @Override
+            public void doFilter(javax.servlet.ServletRequest request, javax.servlet.ServletResponse response) {
+                routes.add(dataSource.determineCurrentLookupKey());
+            }
+        };
+    }
+
+    private HttpServletRequest request(String method, String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/items");
+        request.addHeader(ReadYourWritesFilter.USER_HEADER, userId);
+        return request;
+    }
+}
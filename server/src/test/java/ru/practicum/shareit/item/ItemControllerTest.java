@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.handler.exception.OwnerException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -18,6 +19,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -63,7 +65,7 @@ class ItemControllerTest {
                 .name("Ручка шариковая")
                 .description("No comment")
                 .build();
-        when(itemService.getAllItems(any(), anyInt(), anyInt())).thenReturn(List.of(item));
+        when(itemService.getAllItems(any(), anyInt(), anyInt(), any())).thenReturn(List.of(item));
 
         mockMvc.perform(get("/items")
                         .header("X-Sharer-User-Id", "1")
@@ -74,6 +76,26 @@ class ItemControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(List.of(item))));
     }
 
+    @Test
+    void getAllItems_whenPageIsFull_thenReturnNextCursor() throws Exception {
+        ItemDto item = ItemDto.builder()
+                .id(5L)
+                .name("Ручка шариковая")
+                .description("No comment")
+                .build();
+        String after = PageCursor.of(4L).encode();
+        when(itemService.getAllItems(any(), anyInt(), anyInt(), any())).thenReturn(List.of(item));
+
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("size", "1")
+                        .param("after", after))
+
+                .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER, PageCursor.of(5L).encode()));
+        verify(itemService).getAllItems(1L, 0, 1, after);
+    }
+
     @Test
     void getItem() throws Exception {
         ItemDto item = ItemDto.builder()
@@ -110,6 +132,18 @@ class ItemControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(List.of(item))));
     }
 
+    @Test
+    void suggestItemNames() throws Exception {
+        when(itemService.suggestItemNames("Руч", 5)).thenReturn(List.of("Ручка шариковая"));
+
+        mockMvc.perform(get("/items/suggest")
+                        .param("prefix", "Руч")
+                        .param("size", "5"))
+
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("Ручка шариковая"));
+    }
+
     @Test
     void updateItem() throws Exception {
         ItemDto item = ItemDto.builder()
@@ -5,12 +5,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.common.CustomPageRequest;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -57,15 +60,86 @@ class ItemRepositoryTest {
     }
 
     @Test
-    void findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIsTrue() {
-        List<Item> itemList =
-                itemRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(
-                        "Java", "Java", CustomPageRequest.of(0, 2));
+    void search_whenTextInDescription_thenReturnAvailableItems() {
+        List<Item> itemList = itemRepository.search("java", CustomPageRequest.of(0, 2));
 
         assertNotNull(itemList);
         assertEquals(2, itemList.size());
     }
 
+    @Test
+    void save_whenMaxLengthTextLengthensWhenLowerCased_thenKeepWholeSearchText() {
+        String name = "\u0130".repeat(200);
+        String description = "\u0130".repeat(200);
+        Item saved = itemRepository.saveAndFlush(Item.builder()
+                .name(name)
+                .description(description)
+                .available(true)
+                .owner(user)
+                .build());
+
+        assertEquals(801, saved.getSearchText().length());
+        assertEquals(List.of(saved.getId()), itemRepository.search(description.toLowerCase(Locale.ROOT),
+                        CustomPageRequest.of(0, 10)).stream()
+                .map(Item::getId)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void search_whenNameMatchesUnavailableItem_thenSkipIt() {
+        itemRepository.save(Item.builder()
+                .name("Java for kids")
+                .description("Picture book")
+                .available(false)
+                .owner(user)
+                .build());
+
+        List<Item> itemList = itemRepository.search("java", CustomPageRequest.of(0, 10));
+
+        assertEquals(2, itemList.size());
+        assertTrue(itemList.stream().allMatch(Item::getAvailable));
+    }
+
+    @Test
+    void search_whenNameAndDescriptionMatch_thenNameMatchesFirst() {
+        Item byName = itemRepository.save(Item.builder()
+                .name("JavaScript guide")
+                .description("Guide")
+                .available(true)
+                .owner(user)
+                .build());
+
+        List<Item> itemList = itemRepository.search("javascript", CustomPageRequest.of(0, 10));
+
+        assertEquals(2, itemList.size());
+        assertEquals(byName.getId(), itemList.get(0).getId());
+    }
+
+    @Test
+    void search_whenTextSpansNameAndDescription_thenNoMatch() {
+        assertEquals(0, itemRepository.search("book java", CustomPageRequest.of(0, 10)).size());
+        assertEquals(0, itemRepository.search("kjava", CustomPageRequest.of(0, 10)).size());
+    }
+
+    @Test
+    void suggestNames_whenPrefixMatches_thenReturnDistinctAvailableNames() {
+        itemRepository.save(Item.builder().name("Book").description("Copy").available(true).owner(user).build());
+        itemRepository.save(Item.builder().name("Box").description("Empty").available(false).owner(user).build());
+
+        assertEquals(List.of("Book", "Boook"), itemRepository.suggestNames("bo", PageRequest.of(0, 10)));
+        assertEquals(List.of("Book"), itemRepository.suggestNames("bo", PageRequest.of(0, 1)));
+    }
+
+    @Test
+    void search_whenItemUpdated_thenSearchTextFollows() {
+        Item item = itemRepository.findByOwner_IdOrderByIdAsc(user.getId(), CustomPageRequest.of(0, 1)).get(0);
+        item.setDescription("Kotlin 100% book");
+        itemRepository.saveAndFlush(item);
+
+        assertEquals(1, itemRepository.search("kotlin 100!%", CustomPageRequest.of(0, 10)).size());
+        assertEquals(0, itemRepository.search("100!%!_", CustomPageRequest.of(0, 10)).size());
+    }
+
     @AfterEach
     private void deleteItems() {
         itemRepository.deleteAll();
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemSearchDocument;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ItemSearchIndexTest {
+    private ItemRepository itemRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private ItemSearchIndex itemSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        itemSearchIndex = new ItemSearchIndex(itemRepository, meterRegistry, true);
+        when(itemRepository.findAllSearchDocuments()).thenReturn(List.of(
+                document(1L, "Drill", "Cordless drill with two batteries", true),
+                document(2L, "Screwdriver", "Works as a drill too", true, 20L),
+                document(3L, "Hammer drill", "Broken", false),
+                document(4L, "Saw", null, true)));
+        itemSearchIndex.rebuild();
+    }
+
+    @Test
+    void search_whenTextMatches_thenReturnAvailableNameMatchesFirst() {
+        assertTrue(itemSearchIndex.isReady());
+        assertEquals(List.of(1L, 2L), itemSearchIndex.search("DRILL", 0, 10));
+        assertEquals(List.of(2L), itemSearchIndex.search("drill", 1, 10));
+        assertEquals(List.of(4L), itemSearchIndex.search("sa", 0, 10));
+        assertEquals(List.of(), itemSearchIndex.search("chainsaw", 0, 10));
+        assertEquals(List.of(), itemSearchIndex.search("drill cordless", 0, 10));
+    }
+
+    @Test
+    void update_whenItemChanged_thenSearchFollows() {
+        itemSearchIndex.update(Item.builder().id(3L).name("Hammer drill").description("Fixed").available(true).build());
+        itemSearchIndex.update(Item.builder().id(1L).name("Drill").description("Sold").available(false).build());
+        itemSearchIndex.update(Item.builder().id(5L).name("Chainsaw").description("New").available(true).build());
+
+        assertEquals(List.of(3L, 2L), itemSearchIndex.search("drill", 0, 10));
+        assertEquals(List.of(5L), itemSearchIndex.search("chainsaw", 0, 10));
+        assertEquals(List.of(), itemSearchIndex.search("batteries", 0, 10));
+    }
+
+    @Test
+    void removeOwner_whenUserDeleted_thenDropTheirItems() {
+        itemSearchIndex.removeOwner(10L);
+
+        assertEquals(List.of(2L), itemSearchIndex.search("drill", 0, 10));
+        assertEquals(List.of(), itemSearchIndex.search("saw", 0, 10));
+        assertEquals(1, itemSearchIndex.documentCount());
+        assertTrue(itemSearchIndex.memoryFootprint() > 0);
+    }
+
+    @Test
+    void rebuild_whenItemUpdatedDuringSnapshot_thenKeepUpdate() {
+        when(itemRepository.findAllSearchDocuments()).then(invocation -> {
+            itemSearchIndex.update(Item.builder().id(4L).name("Chainsaw").available(true).build());
+            itemSearchIndex.removeOwner(20L);
+            return List.of(document(4L, "Saw", null, true), document(2L, "Screwdriver", "Drill", true, 20L));
+        });
+
+        itemSearchIndex.rebuild();
+
+        assertEquals(List.of(4L), itemSearchIndex.search("chainsaw", 0, 10));
+        assertEquals(List.of(), itemSearchIndex.search("drill", 0, 10));
+    }
+
+    @Test
+    void rebuild_whenEnabled_thenPublishFootprintGauges() {
+        assertEquals(4.0, meterRegistry.get("shareit.search.index.documents").gauge().value());
+        assertTrue(meterRegistry.get("shareit.search.index.memory").gauge().value() > 0);
+        assertNotNull(meterRegistry.get("shareit.search.index.rebuild.time").gauge());
+    }
+
+    @Test
+    void rebuild_whenDisabled_thenNotReady() {
+        ItemSearchIndex disabled = new ItemSearchIndex(itemRepository, new SimpleMeterRegistry(), false);
+
+        disabled.rebuild();
+        disabled.update(Item.builder().id(1L).name("Drill").available(true).build());
+
+        assertFalse(disabled.isReady());
+        verify(itemRepository, times(1)).findAllSearchDocuments();
+    }
+
+    private ItemSearchDocument document(Long id, String name, String description, Boolean available) {
+        return document(id, name, description, available, 10L);
+    }
+
+    private ItemSearchDocument document(Long id, String name, String description, Boolean available, Long ownerId) {
+        return new ItemSearchDocument() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+
+            @Override
+            public Boolean getAvailable() {
+                return available;
+            }
+
+            @Override
+            public Long getOwnerId() {
+                return ownerId;
+            }
+        };
+    }
+}
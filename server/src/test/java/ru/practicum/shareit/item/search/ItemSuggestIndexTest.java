@@ -0,0 +1,92 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemSearchDocument;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ItemSuggestIndexTest {
+    private ItemRepository itemRepository;
+    private ItemSuggestIndex itemSuggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        List<ItemSearchDocument> documents = List.of(
+                document(1L, "Drill bit set", true),
+                document(2L, "Drill", true),
+                document(3L, "Driller's  manual", false),
+                document(4L, "Saw", true, 20L),
+                document(5L, "Drill", true));
+        when(itemRepository.findAllSearchDocuments()).thenReturn(documents);
+        itemSuggestIndex = new ItemSuggestIndex(itemRepository, true);
+        itemSuggestIndex.rebuild();
+    }
+
+    @Test
+    void suggest_whenPrefixMatches_thenReturnDistinctAvailableNamesInOrder() {
+        assertEquals(List.of("Drill", "Drill bit set"), itemSuggestIndex.suggest(" DRI", 10));
+        assertEquals(List.of("Drill"), itemSuggestIndex.suggest("dri", 1));
+        assertEquals(List.of(), itemSuggestIndex.suggest("hammer", 10));
+    }
+
+    @Test
+    void update_whenItemRenamedOrUnavailable_thenSuggestFollows() {
+        itemSuggestIndex.update(Item.builder().id(1L).name("Hammer").available(true).build());
+        itemSuggestIndex.update(Item.builder().id(3L).name("Driller's  manual").available(true).build());
+        itemSuggestIndex.update(Item.builder().id(4L).name("Saw").available(false).build());
+
+        assertEquals(List.of("Drill", "Driller's  manual"), itemSuggestIndex.suggest("drill", 10));
+        assertEquals(List.of("Hammer"), itemSuggestIndex.suggest("h", 10));
+        assertEquals(List.of(), itemSuggestIndex.suggest("saw", 10));
+    }
+
+    @Test
+    void removeOwner_whenUserDeleted_thenStopSuggestingTheirItems() {
+        itemSuggestIndex.removeOwner(10L);
+
+        assertEquals(List.of(), itemSuggestIndex.suggest("dri", 10));
+        assertEquals(List.of("Saw"), itemSuggestIndex.suggest("s", 10));
+    }
+
+    @Test
+    void rebuild_whenItemUpdatedDuringSnapshot_thenKeepUpdate() {
+        when(itemRepository.findAllSearchDocuments()).then(invocation -> {
+            itemSuggestIndex.update(Item.builder().id(4L).name("Sawmill").available(true).build());
+            return List.of(document(4L, "Saw", true, 20L));
+        });
+
+        itemSuggestIndex.rebuild();
+
+        assertEquals(List.of("Sawmill"), itemSuggestIndex.suggest("saw", 10));
+    }
+
+    @Test
+    void rebuild_whenDisabled_thenNotReadyAndNotLoaded() {
+        ItemSuggestIndex disabled = new ItemSuggestIndex(itemRepository, false);
+
+        disabled.rebuild();
+
+        assertFalse(disabled.isReady());
+        verify(itemRepository, times(1)).findAllSearchDocuments();
+    }
+
+    private ItemSearchDocument document(Long id, String name, Boolean available) {
+        return document(id, name, available, 10L);
+    }
+
+    private ItemSearchDocument document(Long id, String name, Boolean available, Long ownerId) {
+        ItemSearchDocument document = mock(ItemSearchDocument.class);
+        when(document.getOwnerId()).thenReturn(ownerId);
+        when(document.getId()).thenReturn(id);
+        when(document.getName()).thenReturn(name);
+        when(document.getAvailable()).thenReturn(available);
+        return document;
+    }
+}
@@ -1,11 +1,14 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.common.CustomPageRequest;
+import ru.practicum.shareit.common.RequestScopedLookup;
 import ru.practicum.shareit.handler.exception.BadRequestException;
 import ru.practicum.shareit.handler.exception.NotFoundException;
 import ru.practicum.shareit.handler.exception.OwnerException;
@@ -15,6 +18,11 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.request.feed.ItemRequestFeed;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -23,6 +31,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,6 +43,9 @@ class ItemServiceImplTest {
     private BookingService bookingService;
     private ItemRepository itemRepository;
     private CommentRepository commentRepository;
+    private ItemSearchIndex itemSearchIndex;
+    private ItemSuggestIndex itemSuggestIndex;
+    private ItemRequestFeed itemRequestFeed;
     User user;
     ItemDto itemDto;
 
@@ -43,7 +55,12 @@ class ItemServiceImplTest {
         bookingService = mock(BookingService.class);
         itemRepository = mock(ItemRepository.class);
         commentRepository = mock(CommentRepository.class);
-        itemService = new ItemServiceImpl(userService, bookingService, itemRepository, commentRepository);
+        itemSearchIndex = mock(ItemSearchIndex.class);
+        itemSuggestIndex = mock(ItemSuggestIndex.class);
+        itemRequestFeed = mock(ItemRequestFeed.class);
+        itemService = new ItemServiceImpl(userService, bookingService, itemRepository, commentRepository,
+                itemSearchIndex, itemSuggestIndex, itemRequestFeed,
+                new RequestScopedLookup(new SimpleMeterRegistry()));
 
         itemDto = ItemDto.builder()
                 .id(1L)
@@ -106,15 +123,58 @@ class ItemServiceImplTest {
         when(itemRepository.findByOwner_IdOrderByIdAsc(user.getId(), CustomPageRequest.of(1, 1)))
                 .thenReturn(List.of(ItemMapper.toItem(itemDto, user)));
 
-        List<ItemDto> listItemDto = itemService.getAllItems(user.getId(), 1, 1);
+        List<ItemDto> listItemDto = itemService.getAllItems(user.getId(), 1, 1, null);
 
         assertEquals(1, listItemDto.size());
         verify(itemRepository).findByOwner_IdOrderByIdAsc(user.getId(), CustomPageRequest.of(1, 1));
     }
 
+    @Test
+    void getAllItems_whenItemsHaveComments_thenLoadCommentsForPageInOneQuery() {
+        Item first = ItemMapper.toItem(itemDto, user);
+        Item second = Item.builder().id(2L).name("Drill").description("Tool").available(true).owner(user).build();
+        Comment comment = Comment.builder().id(5L).text("Good").item(second).author(user)
+                .created(LocalDateTime.now()).build();
+        when(itemRepository.findByOwner_IdOrderByIdAsc(user.getId(), CustomPageRequest.of(0, 10)))
+                .thenReturn(List.of(first, second));
+        when(commentRepository.findAllByItem_IdInOrderByIdAsc(List.of(1L, 2L))).thenReturn(List.of(comment));
+
+        List<ItemDto> listItemDto = itemService.getAllItems(user.getId(), 0, 10, null);
+
+        assertTrue(listItemDto.get(0).getComments().isEmpty());
+        assertEquals("Good", listItemDto.get(1).getComments().get(0).getText());
+        verify(commentRepository, times(1)).findAllByItem_IdInOrderByIdAsc(any());
+    }
+
+    @Test
+    void getAllItems_whenItemsHaveBookings_thenSetLastAndNextBookingsWithOneLookup() {
+        BookingShort last = mock(BookingShort.class);
+        when(last.getId()).thenReturn(1L);
+        when(last.getBookerId()).thenReturn(2L);
+        when(last.getItemId()).thenReturn(itemDto.getId());
+        when(last.getStart()).thenReturn(LocalDateTime.now().minusDays(2));
+        BookingShort next = mock(BookingShort.class);
+        when(next.getId()).thenReturn(3L);
+        when(next.getBookerId()).thenReturn(2L);
+        when(next.getItemId()).thenReturn(itemDto.getId());
+        when(next.getStart()).thenReturn(LocalDateTime.now().plusDays(2));
+        when(userService.getByIdOrNotFoundError(any())).thenReturn(user);
+        when(itemRepository.findByOwner_IdOrderByIdAsc(user.getId(), CustomPageRequest.of(0, 10)))
+                .thenReturn(List.of(ItemMapper.toItem(itemDto, user)));
+        when(bookingService.getLastAndNextBookings(any(), any())).thenReturn(List.of(last, next));
+
+        List<ItemDto> listItemDto = itemService.getAllItems(user.getId(), 0, 10, null);
+
+        assertEquals(1L, listItemDto.get(0).getLastBooking().getId());
+        assertEquals(3L, listItemDto.get(0).getNextBooking().getId());
+        verify(bookingService, times(1)).getLastAndNextBookings(any(), any());
+        verify(bookingService, never()).getNextBooking(any(), any());
+        verify(bookingService, never()).getLastBooking(any(), any());
+    }
+
     @Test
     void updateItem_whenItemUpdate_thenUpdateFields() {
-        when(itemRepository.findById(any())).thenReturn(Optional.of(ItemMapper.toItem(itemDto, user)));
+        when(itemRepository.findForUpdate(any())).thenReturn(Optional.of(ItemMapper.toItem(itemDto, user)));
         when(itemRepository.save(any())).thenReturn(ItemMapper.toItem(itemDto, user));
 
         ItemDto actualItem = itemService.updateItem(user.getId(), itemDto.getId(), itemDto);
@@ -125,9 +185,23 @@ class ItemServiceImplTest {
         assertTrue(actualItem.getAvailable());
     }
 
+    @Test
+    void updateItem_whenItemHasComments_thenReturnThem() {
+        Item item = ItemMapper.toItem(itemDto, user);
+        when(itemRepository.findForUpdate(any())).thenReturn(Optional.of(item));
+        when(itemRepository.save(any())).thenReturn(item);
+        when(commentRepository.findAllByItem_IdInOrderByIdAsc(List.of(1L))).thenReturn(List.of(Comment.builder()
+                .id(5L).text("Good").item(item).author(user).created(LocalDateTime.now()).build()));
+
+        ItemDto actualItem = itemService.updateItem(user.getId(), itemDto.getId(), itemDto);
+
+        assertEquals("Good", actualItem.getComments().get(0).getText());
+        verify(itemRequestFeed).putItem(argThat(feedItem -> feedItem.getComments().isEmpty()));
+    }
+
     @Test
     void updateItem_whenUserIsNotOwner_thenReturnException() {
-        when(itemRepository.findById(any())).thenReturn(Optional.of(ItemMapper.toItem(itemDto, user)));
+        when(itemRepository.findForUpdate(any())).thenReturn(Optional.of(ItemMapper.toItem(itemDto, user)));
 
 
         OwnerException ownerException = assertThrows(OwnerException.class,
@@ -139,25 +213,120 @@ class ItemServiceImplTest {
 
     @Test
     void searchItem_whenTextEmpty_thenReturnItem() {
-        when(itemRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(anyString(),
-                anyString(), any())).thenReturn(List.of());
+        when(itemRepository.search(anyString(), any())).thenReturn(List.of());
 
         Collection<ItemDto> items = itemService.searchItem("", 1, 1);
 
         assertEquals(0, items.size());
     }
 
+    @Test
+    void searchItem_whenTextHasSearchSeparator_thenReturnEmpty() {
+        Collection<ItemDto> items = itemService.searchItem("book" + Item.SEARCH_SEPARATOR + "java", 0, 10);
+
+        assertEquals(0, items.size());
+        verify(itemRepository, never()).search(anyString(), any());
+    }
+
     @Test
     void searchItem_whenTextNotEmpty_thenReturnItem() {
         itemDto.setOwner(user.getId());
-        when(itemRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(anyString(),
-                anyString(), any())).thenReturn(List.of(ItemMapper.toItem(itemDto, user)));
+        when(itemRepository.search(anyString(), any())).thenReturn(List.of(ItemMapper.toItem(itemDto, user)));
 
         Collection<ItemDto> items = itemService.searchItem("book", 1, 1);
 
         assertEquals(1, items.size());
     }
 
+    @Test
+    void searchItem_whenItemsHaveComments_thenLoadCommentsForPageInOneQuery() {
+        Item first = ItemMapper.toItem(itemDto, user);
+        Item second = Item.builder().id(2L).name("Book").description("Paper").available(true).owner(user).build();
+        Comment comment = Comment.builder().id(5L).text("Good").item(first).author(user)
+                .created(LocalDateTime.now()).build();
+        when(itemRepository.search(anyString(), any())).thenReturn(List.of(first, second));
+        when(commentRepository.findAllByItem_IdInOrderByIdAsc(List.of(1L, 2L))).thenReturn(List.of(comment));
+
+        List<ItemDto> items = new ArrayList<>(itemService.searchItem("book", 0, 10));
+
+        assertEquals("Good", items.get(0).getComments().get(0).getText());
+        assertTrue(items.get(1).getComments().isEmpty());
+        verify(commentRepository, times(1)).findAllByItem_IdInOrderByIdAsc(any());
+    }
+
+    @Test
+    void searchItem_whenIndexReady_thenHydrateIdsInIndexOrder() {
+        Item first = ItemMapper.toItem(itemDto, user);
+        first.setId(7L);
+        Item second = ItemMapper.toItem(itemDto, user);
+        second.setId(3L);
+        when(itemSearchIndex.isReady()).thenReturn(true);
+        when(itemSearchIndex.search("book", 0, 20)).thenReturn(List.of(7L, 3L));
+        when(itemRepository.findByIdIn(List.of(7L, 3L))).thenReturn(List.of(second, first));
+
+        List<Long> ids = itemService.searchItem("book", 0, 10).stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(List.of(7L, 3L), ids);
+        verify(itemRepository, never()).search(anyString(), any());
+    }
+
+    @Test
+    void searchItem_whenIndexHitsGone_thenRefillPage() {
+        Item first = ItemMapper.toItem(itemDto, user);
+        first.setId(7L);
+        Item unavailable = ItemMapper.toItem(itemDto, user);
+        unavailable.setId(5L);
+        unavailable.setAvailable(false);
+        Item second = ItemMapper.toItem(itemDto, user);
+        second.setId(3L);
+        when(itemSearchIndex.isReady()).thenReturn(true);
+        when(itemSearchIndex.search("book", 0, 4)).thenReturn(List.of(7L, 5L, 6L, 8L));
+        when(itemSearchIndex.search("book", 4, 2)).thenReturn(List.of(3L));
+        when(itemRepository.findByIdIn(List.of(7L, 5L, 6L, 8L))).thenReturn(List.of(first, unavailable));
+        when(itemRepository.findByIdIn(List.of(3L))).thenReturn(List.of(second));
+
+        List<Long> ids = itemService.searchItem("book", 0, 2).stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(List.of(7L, 3L), ids);
+    }
+
+    @Test
+    void suggestItemNames_whenPrefixBlank_thenSkipIndex() {
+        assertEquals(List.of(), itemService.suggestItemNames(" ", 10));
+        verify(itemSuggestIndex, never()).suggest(anyString(), anyInt());
+    }
+
+    @Test
+    void suggestItemNames_whenIndexNotReady_thenQueryRepository() {
+        when(itemRepository.suggestNames(anyString(), any())).thenReturn(List.of("Drill 50%"));
+
+        assertEquals(List.of("Drill 50%"), itemService.suggestItemNames(" Drill  50%", 10));
+        verify(itemRepository).suggestNames(eq("drill 50!%"), any());
+        verify(itemSuggestIndex, never()).suggest(anyString(), anyInt());
+    }
+
+    @Test
+    void suggestItemNames_whenIndexReady_thenAskIndex() {
+        when(itemSuggestIndex.isReady()).thenReturn(true);
+        when(itemSuggestIndex.suggest("dri", 10)).thenReturn(List.of("Drill"));
+
+        assertEquals(List.of("Drill"), itemService.suggestItemNames("dri", 10));
+        verify(itemRepository, never()).suggestNames(anyString(), any());
+    }
+
+    @Test
+    void searchItem_whenTextHasWildcards_thenSearchLowerCasedAndEscaped() {
+        when(itemRepository.search(anyString(), any())).thenReturn(List.of());
+
+        itemService.searchItem("50%_OFF!", 0, 10);
+
+        verify(itemRepository).search(eq("50!%!_off!!"), any());
+    }
+
     @Test
     void createComment_whenAllData_thenReturnSavedComment() {
         CommentDto commentDto = CommentDto.builder()
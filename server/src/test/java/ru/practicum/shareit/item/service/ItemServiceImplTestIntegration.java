@@ -4,9 +4,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.handler.exception.OwnerException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -24,6 +28,8 @@ class ItemServiceImplTestIntegration {
     private ItemService itemService;
     @Autowired
     private ItemRepository itemRepository;
+    @Autowired
+    private CacheManager cacheManager;
 
     UserDto user;
     ItemDto item;
@@ -48,7 +54,7 @@ class ItemServiceImplTestIntegration {
     @Test
     void getAllItems() {
 
-        List<ItemDto> itemDtoList = itemService.getAllItems(user.getId(), 0, 10);
+        List<ItemDto> itemDtoList = itemService.getAllItems(user.getId(), 0, 10, null);
 
         assertNotNull(itemDtoList);
         assertEquals(1, itemDtoList.size());
@@ -62,4 +68,33 @@ class ItemServiceImplTestIntegration {
         assertEquals(1, itemDtoList.size());
         assertEquals(item.getDescription(), itemDtoList.stream().findFirst().get().getDescription());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getByIdOrNotFoundError_whenCalledAgain_thenServeFromCacheUntilUpdated() {
+        Cache items = cacheManager.getCache(ItemRepository.ITEMS_CACHE);
+
+        Item cached = itemService.getByIdOrNotFoundError(item.getId());
+
+        assertEquals(cached, itemService.getByIdOrNotFoundError(item.getId()));
+        assertNotNull(items.get(item.getId()));
+
+        itemService.updateItem(user.getId(), item.getId(), ItemDto.builder().name("Notebook").build());
+
+        assertNull(items.get(item.getId()));
+        assertEquals("Notebook", itemService.getByIdOrNotFoundError(item.getId()).getName());
+    }
+
+    @Test
+    void getByIdOrNotFoundError_whenReturnedItemChangedAndUpdateRejected_thenCachedItemUnchanged() {
+        Item loaded = itemService.getByIdOrNotFoundError(item.getId());
+
+        loaded.setName("Notebook");
+        assertThrows(OwnerException.class, () -> itemService.updateItem(user.getId() + 1, item.getId(),
+                ItemDto.builder().name(loaded.getName()).build()));
+
+        Item cached = itemRepository.findById(item.getId()).orElseThrow();
+        assertNotSame(loaded, cached);
+        assertNotSame(loaded.getOwner(), cached.getOwner());
+        assertEquals(item.getName(), cached.getName());
+    }
+}
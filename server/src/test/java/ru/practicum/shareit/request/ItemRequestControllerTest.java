@@ -81,7 +81,7 @@ class ItemRequestControllerTest {
                 .description("Book")
                 .created(LocalDateTime.now())
                 .build();
-        when(itemRequestService.getAllRequests(any(), anyInt(), anyInt())).thenReturn(List.of(itemRequestDto));
+        when(itemRequestService.getAllRequests(any(), anyInt(), anyInt(), any())).thenReturn(List.of(itemRequestDto));
 
         mockMvc.perform(get("/requests/all")
                         .header("X-Sharer-User-Id", 1L)
@@ -91,7 +91,7 @@ class ItemRequestControllerTest {
 
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(List.of(itemRequestDto))));
-        verify(itemRequestService, times(1)).getAllRequests(1L, 0, 10);
+        verify(itemRequestService, times(1)).getAllRequests(1L, 0, 10, null);
     }
 
     @SneakyThrows
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ItemRequestIndexTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    long requesterId;
+    long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into users (name, email) values ('Requester', 'requester@index.test')");
+        jdbcTemplate.update("insert into users (name, email) values ('Owner', 'owner@request-index.test')");
+        requesterId = jdbcTemplate.queryForObject("select user_id from users where email = 'requester@index.test'",
+                Long.class);
+        ownerId = jdbcTemplate.queryForObject("select user_id from users where email = 'owner@request-index.test'",
+                Long.class);
+        jdbcTemplate.update("insert into requests (user_id, description, created) " +
+                "select ?, concat('Request', x), dateadd('MINUTE', -x, now()) from system_range(1, 1000)",
+                requesterId);
+        jdbcTemplate.update("insert into items (item_name, description, available, owner_id, request_id) " +
+                "select concat('Item', request_id), 'Answer', true, ?, request_id from requests where user_id = ?",
+                ownerId, requesterId);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void requestFeedQueries_whenExplained_thenUseRequestIndexes() {
+        assertPlanUses("select * from requests where user_id <> " + ownerId + " " +
+                "order by created desc, request_id desc limit 10", "IDX_REQUESTS_CREATED");
+        assertPlanUses("select * from requests where user_id <> " + ownerId + " and (created < now() " +
+                "or (created = now() and request_id < 500)) order by created desc, request_id desc limit 10",
+                "IDX_REQUESTS_CREATED");
+    }
+
+    /**
+     * H2 indexes foreign key columns on its own and may prefer that index, PostgreSQL relies on
+     * idx_requests_user_created and idx_items_request; either way the lookup must not scan the table.
+     */
+    @Test
+    void requestIdAndUserLookups_whenExplained_thenNoTableScan() {
+        assertPlanSeeks("select * from requests where user_id = " + requesterId + " order by created desc");
+        assertPlanSeeks("select * from items where request_id in (1, 2, 3)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from items where owner_id = ?", ownerId);
+        jdbcTemplate.update("delete from requests where user_id = ?", requesterId);
+        jdbcTemplate.update("delete from users where user_id in (?, ?)", requesterId, ownerId);
+    }
+
+    private void assertPlanUses(String sql, String index) {
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+        assertTrue(plan.contains(index), plan);
+    }
+
+    private void assertPlanSeeks(String sql) {
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+}
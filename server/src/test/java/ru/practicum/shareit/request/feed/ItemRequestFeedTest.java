@@ -0,0 +1,121 @@
+package ru.practicum.shareit.request.feed;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.PageCursor;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ItemRequestFeedTest {
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+    private ItemRequestRepository itemRequestRepository;
+    private ItemRepository itemRepository;
+    private ItemRequestFeed itemRequestFeed;
+
+    @BeforeEach
+    void setUp() {
+        itemRequestRepository = mock(ItemRequestRepository.class);
+        itemRepository = mock(ItemRepository.class);
+        List<ItemRequest> requests = List.of(request(3L, 1L, now), request(2L, 2L, now.minusHours(1)),
+                request(1L, 1L, now.minusHours(2)));
+        Item answer = Item.builder().id(7L).name("Drill").description("Tool").available(true)
+                .owner(User.builder().id(2L).build()).requestId(1L).build();
+        when(itemRequestRepository.findAllByOrderByCreationTimeDescRequestIdDesc(any())).thenReturn(requests);
+        when(itemRepository.findAllByRequestIdInOrderByIdAsc(List.of(3L, 2L, 1L))).thenReturn(List.of(answer));
+        itemRequestFeed = new ItemRequestFeed(itemRequestRepository, itemRepository, new SimpleMeterRegistry(),
+                true, 4);
+        itemRequestFeed.rebuild();
+    }
+
+    @Test
+    void page_whenBuilt_thenNewestFirstWithoutOwnRequests() {
+        List<ItemRequestDto> page = itemRequestFeed.page(2L, 0, 10, null);
+
+        assertTrue(itemRequestFeed.isReady());
+        assertEquals(List.of(3L, 1L), ids(page));
+        assertEquals(7L, page.get(1).getItems().get(0).getId());
+        assertEquals(List.of(1L), ids(itemRequestFeed.page(2L, 0, 10, PageCursor.of(now, 3L))));
+        assertEquals(List.of(1L), ids(itemRequestFeed.page(2L, 1, 10, null)));
+    }
+
+    @Test
+    void addRequest_whenOverCapacity_thenDropOldestAndLeaveOlderPagesToDatabase() {
+        itemRequestFeed.addRequest(request(4L, 2L, now.plusHours(1)));
+        itemRequestFeed.addRequest(request(5L, 2L, now.plusHours(2)));
+        itemRequestFeed.putItem(ItemDto.builder().id(8L).name("Saw").available(true).owner(1L).requestId(4L).build());
+
+        List<ItemRequestDto> first = itemRequestFeed.page(1L, 0, 2, null);
+
+        assertEquals(4, itemRequestFeed.size());
+        assertEquals(List.of(5L, 4L), ids(first));
+        assertEquals(8L, first.get(1).getItems().get(0).getId());
+        assertNull(itemRequestFeed.page(1L, 2, 2, null));
+    }
+
+    @Test
+    void removeUser_whenDeleted_thenDropRequestsAndAnswers() {
+        itemRequestFeed.removeUser(2L);
+
+        List<ItemRequestDto> page = itemRequestFeed.page(5L, 0, 2, null);
+
+        assertEquals(List.of(3L, 1L), ids(page));
+        assertTrue(page.get(1).getItems().isEmpty());
+    }
+
+    @Test
+    void rebuild_whenChangesCommitDuringSnapshot_thenKeepThem() {
+        when(itemRequestRepository.findAllByOrderByCreationTimeDescRequestIdDesc(any())).then(invocation -> {
+            itemRequestFeed.addRequest(request(4L, 2L, now.plusHours(1)));
+            itemRequestFeed.removeUser(1L);
+            return List.of(request(3L, 1L, now), request(2L, 2L, now.minusHours(1)));
+        });
+        when(itemRepository.findAllByRequestIdInOrderByIdAsc(List.of(3L, 2L))).then(invocation -> {
+            itemRequestFeed.putItem(ItemDto.builder().id(8L).name("Saw").available(true).owner(2L).requestId(4L)
+                    .build());
+            return List.of();
+        });
+
+        itemRequestFeed.rebuild();
+
+        List<ItemRequestDto> page = itemRequestFeed.page(5L, 0, 10, null);
+        assertEquals(List.of(4L, 2L), ids(page));
+        assertEquals(8L, page.get(0).getItems().get(0).getId());
+    }
+
+    @Test
+    void rebuild_whenDisabled_thenNeverReady() {
+        ItemRequestFeed disabled = new ItemRequestFeed(itemRequestRepository, itemRepository,
+                new SimpleMeterRegistry(), false, 4);
+
+        disabled.rebuild();
+
+        assertFalse(disabled.isReady());
+    }
+
+    private ItemRequest request(Long id, Long userId, LocalDateTime created) {
+        return ItemRequest.builder()
+                .requestId(id)
+                .userId(userId)
+                .description("Request" + id)
+                .creationTime(created)
+                .build();
+    }
+
+    private List<Long> ids(List<ItemRequestDto> page) {
+        return page.stream().map(ItemRequestDto::getId).collect(Collectors.toList());
+    }
+}
@@ -2,12 +2,17 @@ package ru.practicum.shareit.request.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import ru.practicum.shareit.common.CustomPageRequest;
 import ru.practicum.shareit.handler.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.feed.ItemRequestFeed;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -22,6 +27,9 @@ import static org.mockito.Mockito.*;
 class ItemRequestServiceImplTest {
     private ItemRequestRepository itemRequestRepository;
     private UserService userService;
+    private ItemService itemService;
+    private ItemRequestFeed itemRequestFeed;
+    private PlatformTransactionManager transactionManager;
     private ItemRequestServiceImpl itemRequestService;
 
     User user;
@@ -30,7 +38,11 @@ class ItemRequestServiceImplTest {
     void setUp() {
         itemRequestRepository = mock(ItemRequestRepository.class);
         userService = mock(UserService.class);
-        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userService);
+        itemService = mock(ItemService.class);
+        itemRequestFeed = mock(ItemRequestFeed.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userService, itemService,
+                itemRequestFeed, transactionManager);
 
         user = User.builder()
                 .id(10L)
@@ -83,15 +95,73 @@ class ItemRequestServiceImplTest {
                 .description("Book")
                 .creationTime(LocalDateTime.now().withNano(0))
                 .build();
-        when(itemRequestRepository.findAllByUserIdIsNotOrderByCreationTimeDesc(any(), any()))
+        when(itemRequestRepository.findAllByUserIdIsNotOrderByCreationTimeDescRequestIdDesc(any(), any()))
                 .thenReturn(List.of(itemRequest));
 
-        List<ItemRequestDto> itemRequestDtoList = itemRequestService.getAllRequests(user.getId(),0, 10);
+        List<ItemRequestDto> itemRequestDtoList = itemRequestService.getAllRequests(user.getId(),0, 10, null);
 
         assertNotNull(itemRequestDtoList);
         assertEquals(1, itemRequestDtoList.size());
         verify(itemRequestRepository, times(1))
-                .findAllByUserIdIsNotOrderByCreationTimeDesc(user.getId(), CustomPageRequest.of(0, 10));
+                .findAllByUserIdIsNotOrderByCreationTimeDescRequestIdDesc(user.getId(), CustomPageRequest.of(0, 10));
+    }
+
+    @Test
+    void getAllRequests_whenFeedHasPage_thenNoTransaction() {
+        ItemRequestDto request = ItemRequestDto.builder()
+                .id(1L)
+                .description("Book")
+                .items(List.of())
+                .build();
+        when(itemRequestFeed.isReady()).thenReturn(true);
+        when(itemRequestFeed.page(user.getId(), 0, 10, null)).thenReturn(List.of(request));
+
+        assertEquals(List.of(request), itemRequestService.getAllRequests(user.getId(), 0, 10, null));
+        verifyNoInteractions(transactionManager, itemRequestRepository, itemService);
+    }
+
+    @Test
+    void getAllRequests_whenFeedCannotServePage_thenReadInReadOnlyTransaction() {
+        when(itemRequestFeed.isReady()).thenReturn(true);
+        when(itemRequestFeed.page(user.getId(), 0, 10, null)).thenReturn(null);
+        when(itemRequestRepository.findAllByUserIdIsNotOrderByCreationTimeDescRequestIdDesc(any(), any()))
+                .thenReturn(List.of());
+
+        assertTrue(itemRequestService.getAllRequests(user.getId(), 0, 10, null).isEmpty());
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(itemRequestRepository).findAllByUserIdIsNotOrderByCreationTimeDescRequestIdDesc(user.getId(),
+                CustomPageRequest.of(0, 10));
+    }
+
+    @Test
+    void getAllRequests_whenItemsRespond_thenLoadItemsForPageInOneCall() {
+        ItemRequest first = ItemRequest.builder()
+                .requestId(1L)
+                .description("Book")
+                .creationTime(LocalDateTime.now().withNano(0))
+                .build();
+        ItemRequest second = ItemRequest.builder()
+                .requestId(2L)
+                .description("Drill")
+                .creationTime(LocalDateTime.now().minusDays(1).withNano(0))
+                .build();
+        ItemDto item = ItemDto.builder()
+                .id(5L)
+                .name("Drill")
+                .description("Tool")
+                .available(true)
+                .owner(user.getId())
+                .requestId(2L)
+                .build();
+        when(itemRequestRepository.findAllByUserIdIsNotOrderByCreationTimeDescRequestIdDesc(any(), any()))
+                .thenReturn(List.of(first, second));
+        when(itemService.getItemsByRequestIds(List.of(1L, 2L))).thenReturn(List.of(item));
+
+        List<ItemRequestDto> itemRequestDtoList = itemRequestService.getAllRequests(user.getId(), 0, 10, null);
+
+        assertTrue(itemRequestDtoList.get(0).getItems().isEmpty());
+        assertEquals(List.of(item), itemRequestDtoList.get(1).getItems());
+        verify(itemService, times(1)).getItemsByRequestIds(any());
     }
 
     @Test
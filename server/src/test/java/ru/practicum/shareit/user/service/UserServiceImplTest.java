@@ -1,9 +1,14 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.RequestScopedLookup;
 import ru.practicum.shareit.handler.exception.BadRequestException;
 import ru.practicum.shareit.handler.exception.NotFoundException;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.request.feed.ItemRequestFeed;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -20,13 +25,18 @@ import static org.mockito.Mockito.*;
 class UserServiceImplTest {
     private UserServiceImpl userService;
     private UserRepository userRepository;
+    private ItemSearchIndex itemSearchIndex;
+    private ItemSuggestIndex itemSuggestIndex;
 
     @BeforeEach
     void setUp() {
         userRepository = mock(UserRepository.class);
+        itemSearchIndex = mock(ItemSearchIndex.class);
+        itemSuggestIndex = mock(ItemSuggestIndex.class);
         when(userRepository.save(any())).then(i -> i.getArgument(0));
 
-        userService = new UserServiceImpl(userRepository);
+        userService = new UserServiceImpl(userRepository, new RequestScopedLookup(new SimpleMeterRegistry()),
+                mock(ItemRequestFeed.class), itemSearchIndex, itemSuggestIndex);
     }
 
     @Test
@@ -138,6 +148,8 @@ class UserServiceImplTest {
         userService.deleteUserById(saveUser.getId());
 
         verify(userRepository, times(1)).deleteById(saveUser.getId());
+        verify(itemSearchIndex).removeOwner(saveUser.getId());
+        verify(itemSuggestIndex).removeOwner(saveUser.getId());
     }
 
     @Test
@@ -171,4 +183,20 @@ class UserServiceImplTest {
         assertEquals(String.format("Not found user, id: %d ", user.getId()), notFoundException.getMessage());
         verify(userRepository, times(1)).findById(user.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void checkExistsOrNotFoundError_whenUserExists_thenNotLoadUser() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        userService.checkExistsOrNotFoundError(1L);
+
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void checkExistsOrNotFoundError_whenUserNotExists_thenNotFoundException() {
+        when(userRepository.existsById(anyLong())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> userService.checkExistsOrNotFoundError(2L));
+    }
+}
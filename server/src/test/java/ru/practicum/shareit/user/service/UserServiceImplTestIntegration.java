@@ -5,7 +5,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.handler.exception.BadRequestException;
+import ru.practicum.shareit.handler.exception.NotFoundException;
+import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -21,6 +26,8 @@ class UserServiceImplTestIntegration {
     private UserRepository userRepository;
     @Autowired
     private UserService userService;
+    @Autowired
+    private CacheManager cacheManager;
 
     UserDto user;
 
@@ -47,7 +54,7 @@ class UserServiceImplTestIntegration {
         UserDto newUser = UserDto.builder()
                 .email("bill@mail.ty")
                 .build();
-        Long userId = 1L;
+        Long userId = userService.getUsers().stream().findFirst().get().getId();
 
         UserDto actualUser = userService.updateUser(userId, newUser);
 
@@ -56,6 +63,48 @@ class UserServiceImplTestIntegration {
         assertNotEquals(user.getEmail(), actualUser.getEmail());
     }
 
+    @Test
+    void getByIdOrNotFoundError_whenCalledAgain_thenServeFromCacheUntilUpdated() {
+        Long userId = userService.getUsers().stream().findFirst().get().getId();
+        Cache users = cacheManager.getCache(UserRepository.USERS_CACHE);
+
+        User cached = userService.getByIdOrNotFoundError(userId);
+
+        assertEquals(cached, userService.getByIdOrNotFoundError(userId));
+        assertNotNull(users.get(userId));
+
+        userService.updateUser(userId, UserDto.builder().name("William").build());
+
+        assertNull(users.get(userId));
+        assertEquals("William", userService.getByIdOrNotFoundError(userId).getName());
+    }
+
+    @Test
+    void getByIdOrNotFoundError_whenReturnedUserChangedAndUpdateRejected_thenCachedUserUnchanged() {
+        Long userId = userService.getUsers().stream().findFirst().get().getId();
+        User loaded = userService.getByIdOrNotFoundError(userId);
+
+        loaded.setEmail("taken@mail.ty");
+        assertThrows(BadRequestException.class, () -> userService.updateUser(userId + 1,
+                UserDto.builder().email(loaded.getEmail()).build()));
+
+        User cached = userRepository.findById(userId).orElseThrow();
+        assertNotSame(loaded, cached);
+        assertEquals(user.getEmail(), cached.getEmail());
+        assertEquals(user.getEmail(), userService.getUser(userId).getEmail());
+    }
+
+    @Test
+    void checkExistsOrNotFoundError_whenUserDeleted_thenNotFound() {
+        Long userId = userService.getUsers().stream().findFirst().get().getId();
+        userService.checkExistsOrNotFoundError(userId);
+
+        userService.deleteUserById(userId);
+
+        assertThrows(NotFoundException.class, () -> userService.checkExistsOrNotFoundError(userId));
+        assertThrows(NotFoundException.class, () -> userService.getByIdOrNotFoundError(userId));
+    }
+
     @AfterEach
     void deleteAll() {
         userRepository.deleteAll();